@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and reports benchmarks whose score got worse
+ * by more than a threshold.
+ *
+ * Usage: {@code BenchmarkComparison <baseline.json> <current.json> [threshold in percent, default 10]}
+ *
+ * The exit code is 1 if a regression was found, so the comparison can fail a CI job.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private static class Result {
+        final String mode;
+        final double score;
+        final double scoreError;
+        final String unit;
+
+        Result(String mode, double score, double scoreError, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.scoreError = scoreError;
+            this.unit = unit;
+        }
+
+        /**
+         * @return True if a higher score is better, i.e. for throughput measurements
+         */
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = compare(baseline, current, threshold);
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + " %");
+            System.exit(1);
+        }
+    }
+
+    private static int compare(Map<String, Result> baseline, Map<String, Result> current, double threshold) {
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            String name = entry.getKey();
+            Result now = entry.getValue();
+            Result before = baseline.get(name);
+            if (before == null || !before.mode.equals(now.mode) || before.score == 0) {
+                System.out.println(String.format("%-80s %12.3f %-10s (no baseline)", name, now.score, now.unit));
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100;
+            double degradation = now.higherIsBetter() ? -change : change;
+            // changes within the error margins of both runs are noise
+            boolean significant = Math.abs(now.score - before.score) > before.scoreError + now.scoreError;
+            boolean regressed = significant && degradation > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format("%-80s %12.3f -> %12.3f %-10s %+7.1f %%%s", name, before.score,
+                    now.score, now.unit, change, regressed ? "  REGRESSION" : ""));
+        }
+        return regressions;
+    }
+
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray benchmarks = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : benchmarks) {
+                JsonObject benchmark = element.getAsJsonObject();
+                JsonObject metric = benchmark.getAsJsonObject("primaryMetric");
+                String mode = benchmark.get("mode").getAsString();
+                double scoreError = metric.get("scoreError").isJsonPrimitive()
+                        && metric.get("scoreError").getAsJsonPrimitive().isNumber()
+                                ? metric.get("scoreError").getAsDouble()
+                                : 0;
+                results.put(name(benchmark, mode), new Result(mode, metric.get("score").getAsDouble(), scoreError,
+                        metric.get("scoreUnit").getAsString()));
+            }
+        }
+        return results;
+    }
+
+    private static String name(JsonObject benchmark, String mode) {
+        StringBuilder name = new StringBuilder(benchmark.get("benchmark").getAsString());
+        JsonObject params = benchmark.getAsJsonObject("params");
+        if (params != null) {
+            name.append(params.entrySet().toString());
+        }
+        return name.append(" [").append(mode).append("]").toString();
+    }
+}
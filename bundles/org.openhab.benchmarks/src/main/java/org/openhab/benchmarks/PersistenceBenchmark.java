@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.mapdb.internal.StateTypeAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Benchmarks of the state conversions of the persistence services.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    /**
+     * Exposes the protected conversion of database values
+     */
+    private static class BenchmarkDAO extends JdbcBaseDAO {
+        org.openhab.core.types.State toState(Item item, Object value) {
+            return objectAsState(item, null, value);
+        }
+    }
+
+    private final Gson mapDbMapper = new GsonBuilder()
+            .registerTypeHierarchyAdapter(org.openhab.core.types.State.class, new StateTypeAdapter()).create();
+    private final BenchmarkDAO jdbcDAO = new BenchmarkDAO();
+    private final NumberItem numberItem = new NumberItem("Number");
+    private final SwitchItem switchItem = new SwitchItem("Switch");
+    private final DecimalType decimal = new DecimalType(21.5);
+    private final QuantityType<?> quantity = new QuantityType<>("21.5 °C");
+    private final String decimalJson = mapDbMapper.toJson(decimal, org.openhab.core.types.State.class);
+
+    @Benchmark
+    public String mapDbSerializeDecimal() {
+        return mapDbMapper.toJson(decimal, org.openhab.core.types.State.class);
+    }
+
+    @Benchmark
+    public String mapDbSerializeQuantity() {
+        return mapDbMapper.toJson(quantity, org.openhab.core.types.State.class);
+    }
+
+    @Benchmark
+    public org.openhab.core.types.State mapDbDeserializeDecimal() {
+        return mapDbMapper.fromJson(decimalJson, org.openhab.core.types.State.class);
+    }
+
+    @Benchmark
+    public Object influxDbStateToObject() {
+        return InfluxDBStateConvertUtils.stateToObject(quantity);
+    }
+
+    @Benchmark
+    public org.openhab.core.types.State influxDbObjectToNumberState() {
+        return InfluxDBStateConvertUtils.objectToState(21.5, numberItem);
+    }
+
+    @Benchmark
+    public org.openhab.core.types.State influxDbObjectToSwitchState() {
+        return InfluxDBStateConvertUtils.objectToState(1, switchItem);
+    }
+
+    @Benchmark
+    public org.openhab.core.types.State jdbcObjectToNumberState() {
+        return jdbcDAO.toState(numberItem, 21.5);
+    }
+
+    @Benchmark
+    public org.openhab.core.types.State jdbcObjectToSwitchState() {
+        return jdbcDAO.toState(switchItem, OnOffType.ON.toString());
+    }
+}
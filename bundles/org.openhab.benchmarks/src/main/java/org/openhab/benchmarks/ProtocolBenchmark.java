@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
+import org.openhab.binding.sonos.internal.SonosXMLParser;
+import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Benchmarks of protocol parsers and value mappers of bindings.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolBenchmark {
+
+    private final KNXCoreTypeMapper knxTypeMapper = new KNXCoreTypeMapper();
+    private final QuantityType<?> knxTemperature = new QuantityType<>("21.5 °C");
+    // DPT 9.001 encoding of 21.5 °C
+    private final byte[] knxTemperatureData = new byte[] { 0x0c, 0x33 };
+    private final ModbusRegisterArray modbusRegisters = new ModbusRegisterArray((byte) 0x41, (byte) 0xac,
+            (byte) 0x00, (byte) 0x00, (byte) 0xff, (byte) 0x9c);
+    private String sonosOpml = "";
+    private @Nullable Datapoint knxDatapoint;
+
+    @Setup
+    public void setup() throws Exception {
+        // fixture of the Sonos unit tests
+        try (InputStream stream = ProtocolBenchmark.class.getResourceAsStream("/fixtures/sonos/OPML.xml")) {
+            if (stream == null) {
+                throw new IOException("Sonos fixture not found");
+            }
+            sonosOpml = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        knxDatapoint = new CommandDP(new GroupAddress("1/2/3"), "benchmark", 0, "9.001");
+    }
+
+    @Benchmark
+    public List<String> sonosRadioTime() {
+        return SonosXMLParser.getRadioTimeFromXML(sonosOpml);
+    }
+
+    @Benchmark
+    public @Nullable String knxToDPTValue() {
+        return knxTypeMapper.toDPTValue(knxTemperature, "9.001");
+    }
+
+    @Benchmark
+    public @Nullable Type knxToType() {
+        Datapoint datapoint = knxDatapoint;
+        return datapoint == null ? null : knxTypeMapper.toType(datapoint, knxTemperatureData);
+    }
+
+    @Benchmark
+    public Optional<DecimalType> modbusFloat32() {
+        return ModbusBitUtilities.extractStateFromRegisters(modbusRegisters, 0, ValueType.FLOAT32);
+    }
+
+    @Benchmark
+    public Optional<DecimalType> modbusInt16() {
+        return ModbusBitUtilities.extractStateFromRegisters(modbusRegisters, 2, ValueType.INT16);
+    }
+}
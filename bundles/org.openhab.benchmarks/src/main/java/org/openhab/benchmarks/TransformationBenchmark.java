@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.transform.jinja.internal.JinjaTransformationService;
+import org.openhab.transform.jsonpath.internal.JSonPathTransformationService;
+import org.openhab.transform.regex.internal.RegExTransformationService;
+import org.openhab.transform.xpath.internal.XPathTransformationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the transformation services with the payloads of their unit tests.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformationBenchmark {
+
+    /** weather payload of the RegEx and XPath transformation tests */
+    private static final String XML = "<?xml version=\"1.0\"?><xml_api_reply version=\"1\"><weather module_id=\"0\""
+            + " tab_id=\"0\" mobile_row=\"0\" mobile_zipped=\"1\" row=\"0\" section=\"0\" ><forecast_information>"
+            + "<city data=\"Krefeld, North Rhine-Westphalia\"/><postal_code data=\"Krefeld Germany\"/>"
+            + "<latitude_e6 data=\"\"/><longitude_e6 data=\"\"/><forecast_date data=\"2011-03-01\"/>"
+            + "<current_date_time data=\"2011-03-01 15:20:00 +0000\"/><unit_system data=\"SI\"/></forecast_information>"
+            + "<current_conditions><condition data=\"Meistens bewoelkt\"/><temp_f data=\"46\"/><temp_c data=\"8\"/>"
+            + "<humidity data=\"Feuchtigkeit: 66 %\"/><icon data=\"/ig/images/weather/mostly_cloudy.gif\"/>"
+            + "<wind_condition data=\"Wind: N mit 26 km/h\"/></current_conditions><forecast_conditions><day_of_week data=\"Di.\"/>"
+            + "<low data=\"-1\"/><high data=\"6\"/><icon data=\"/ig/images/weather/sunny.gif\"/><condition data=\"Klar\"/>"
+            + "</forecast_conditions></weather></xml_api_reply>";
+
+    /** payload of the Jinja and JsonPath transformation tests */
+    private static final String JSON = "{\"Time\":\"2019-01-05T22:45:12\",\"AM2301\":{\"Temperature\":4.7,\"Humidity\":99.9},\"TempUnit\":\"C\"}";
+
+    private final RegExTransformationService regEx = new RegExTransformationService();
+    private final XPathTransformationService xPath = new XPathTransformationService();
+    private final JSonPathTransformationService jsonPath = new JSonPathTransformationService();
+    private final JinjaTransformationService jinja = new JinjaTransformationService();
+
+    @Benchmark
+    public @Nullable String regExMatch() throws TransformationException {
+        return regEx.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", XML);
+    }
+
+    @Benchmark
+    public @Nullable String regExSubstitution() throws TransformationException {
+        return regEx.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+    }
+
+    @Benchmark
+    public @Nullable String xPath() throws TransformationException {
+        return xPath.transform("//current_conditions/temp_c/@data", XML);
+    }
+
+    @Benchmark
+    public @Nullable String jsonPath() throws TransformationException {
+        return jsonPath.transform("$.AM2301.Temperature", JSON);
+    }
+
+    @Benchmark
+    public @Nullable String jinja() throws TransformationException {
+        return jinja.transform("{{value_json['AM2301'].Temperature}}", JSON);
+    }
+}
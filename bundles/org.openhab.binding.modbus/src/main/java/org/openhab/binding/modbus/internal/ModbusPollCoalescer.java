@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of an endpoint into fewer read requests
+ *
+ * Polls with the same unit id, function code, poll period and maximum tries are merged if their ranges overlap or
+ * are at most {@code maxGap} registers or bits apart, and the merged request stays within the protocol limits. The
+ * result of a merged request is sliced and passed to the callbacks of each poll with the original request, so the
+ * callbacks cannot tell the difference.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * Poll registered with the coalescer
+     */
+    public static class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+
+        private boolean isCompatible(Registration other) {
+            return request.getUnitID() == other.request.getUnitID()
+                    && request.getFunctionCode() == other.request.getFunctionCode()
+                    && request.getMaxTries() == other.request.getMaxTries()
+                    && pollPeriodMillis == other.pollPeriodMillis;
+        }
+    }
+
+    /**
+     * Read request registered with the communication interface on behalf of one or more polls
+     */
+    private class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<Registration> registrations;
+        private final ModbusReadRequestBlueprint request;
+        private final PollTask pollTask;
+
+        MergedPoll(List<Registration> registrations) {
+            this.registrations = registrations;
+            Registration first = registrations.get(0);
+            int start = first.getStart();
+            int end = registrations.stream().mapToInt(Registration::getEnd).max().orElse(first.getEnd());
+            this.request = registrations.size() == 1 ? first.request
+                    : new ModbusReadRequestBlueprint(first.request.getUnitID(), first.request.getFunctionCode(),
+                            start, end - start, first.request.getMaxTries());
+            logger.debug("Registering poll {} for {} poller(s)", request, registrations.size());
+            this.pollTask = comms.registerRegularPoll(request, first.pollPeriodMillis, 0, this, this);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Registration registration : registrations) {
+                registration.resultCallback.handle(registrations.size() == 1 ? result : slice(result, registration));
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration registration : registrations) {
+                registration.failureCallback.handle(registrations.size() == 1 ? failure
+                        : new AsyncModbusFailure<>(registration.request, failure.getCause()));
+            }
+        }
+
+        private AsyncModbusReadResult slice(AsyncModbusReadResult result, Registration registration) {
+            int offset = registration.getStart() - request.getReference();
+            int length = registration.request.getDataLength();
+            if (result.getRegisters().isPresent()) {
+                ModbusRegisterArray registers = result.getRegisters().get();
+                return new AsyncModbusReadResult(registration.request, new ModbusRegisterArray(
+                        Arrays.copyOfRange(registers.getBytes(), offset * 2, (offset + length) * 2)));
+            }
+            BitArray bits = result.getBits().get();
+            BitArray slicedBits = new BitArray(length);
+            for (int i = 0; i < length; i++) {
+                slicedBits.setBit(i, bits.getBit(offset + i));
+            }
+            return new AsyncModbusReadResult(registration.request, slicedBits);
+        }
+
+        void unregister() {
+            comms.unregisterRegularPoll(pollTask);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final List<Registration> registrations = new ArrayList<>();
+    private final List<MergedPoll> mergedPolls = new ArrayList<>();
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param maxGap maximum number of registers or bits between two merged polls
+     */
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms, int maxGap) {
+        this.comms = comms;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Register a regular poll, see {@link ModbusCommunicationInterface#registerRegularPoll}
+     *
+     * @return registration to unregister the poll with
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+        registrations.add(registration);
+        update(registration);
+        return registration;
+    }
+
+    /**
+     * Unregister a regular poll
+     *
+     * @param registration registration returned by {@link #registerRegularPoll}
+     * @return whether the poll was registered
+     */
+    public synchronized boolean unregisterRegularPoll(Registration registration) {
+        if (!registrations.remove(registration)) {
+            return false;
+        }
+        update(registration);
+        return true;
+    }
+
+    /**
+     * Unregister all polls
+     */
+    public synchronized void close() {
+        mergedPolls.forEach(MergedPoll::unregister);
+        mergedPolls.clear();
+        registrations.clear();
+    }
+
+    /**
+     * Merge the polls compatible with the changed registration again. Merged polls that stay the same keep running.
+     */
+    private void update(Registration changed) {
+        List<List<Registration>> blocks = merge(changed);
+        Iterator<MergedPoll> iterator = mergedPolls.iterator();
+        while (iterator.hasNext()) {
+            MergedPoll mergedPoll = iterator.next();
+            if (mergedPoll.registrations.get(0).isCompatible(changed) && !blocks.remove(mergedPoll.registrations)) {
+                mergedPoll.unregister();
+                iterator.remove();
+            }
+        }
+        blocks.forEach(block -> mergedPolls.add(new MergedPoll(block)));
+    }
+
+    private List<List<Registration>> merge(Registration changed) {
+        List<Registration> compatible = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (registration.isCompatible(changed)) {
+                compatible.add(registration);
+            }
+        }
+        compatible.sort(Comparator.comparingInt(Registration::getStart));
+
+        int maxLength = isRegisterFunctionCode(changed.request.getFunctionCode())
+                ? ModbusConstants.MAX_REGISTERS_READ_COUNT
+                : ModbusConstants.MAX_BITS_READ_COUNT;
+        List<List<Registration>> blocks = new ArrayList<>();
+        List<Registration> block = new ArrayList<>();
+        int blockStart = 0;
+        int blockEnd = 0;
+        for (Registration registration : compatible) {
+            int end = Math.max(blockEnd, registration.getEnd());
+            if (!block.isEmpty() && (registration.getStart() > blockEnd + maxGap || end - blockStart > maxLength)) {
+                blocks.add(block);
+                block = new ArrayList<>();
+            }
+            if (block.isEmpty()) {
+                blockStart = registration.getStart();
+                end = registration.getEnd();
+            }
+            block.add(registration);
+            blockEnd = end;
+        }
+        if (!block.isEmpty()) {
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    private static boolean isRegisterFunctionCode(ModbusReadFunctionCode functionCode) {
+        return functionCode == ModbusReadFunctionCode.READ_INPUT_REGISTERS
+                || functionCode == ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS;
+    }
+}
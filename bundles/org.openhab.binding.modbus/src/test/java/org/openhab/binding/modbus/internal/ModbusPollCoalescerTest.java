@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings("unchecked")
+public class ModbusPollCoalescerTest {
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    private ModbusReadRequestBlueprint lastRegisteredRequest(ArgumentCaptor<ModbusReadCallback> callback) {
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(request.capture(), anyLong(), anyLong(), callback.capture(),
+                any());
+        return request.getValue();
+    }
+
+    @Test
+    public void testAdjacentRegistersAreMergedAndSliced() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0);
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        ModbusReadRequestBlueprint request1 = registers(0, 2);
+        ModbusReadRequestBlueprint request2 = registers(2, 1);
+        coalescer.registerRegularPoll(request1, 1000, callback1, mock(ModbusFailureCallback.class));
+        coalescer.registerRegularPoll(request2, 1000, callback2, mock(ModbusFailureCallback.class));
+
+        ArgumentCaptor<ModbusReadCallback> mergedCallback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        ModbusReadRequestBlueprint merged = lastRegisteredRequest(mergedCallback);
+        assertThat(merged.getReference(), is(0));
+        assertThat(merged.getDataLength(), is(3));
+        // Poll of the first poller has been replaced by the merged poll
+        verify(comms, times(1)).unregisterRegularPoll(any());
+
+        mergedCallback.getValue().handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(1, 2, 3)));
+        verify(callback1).handle(argThat((AsyncModbusReadResult result) -> result.getRequest() == request1
+                && new ModbusRegisterArray(1, 2).equals(result.getRegisters().get())));
+        verify(callback2).handle(argThat((AsyncModbusReadResult result) -> result.getRequest() == request2
+                && new ModbusRegisterArray(3).equals(result.getRegisters().get())));
+    }
+
+    @Test
+    public void testBitsAreSliced() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 2);
+        ModbusReadCallback callback = mock(ModbusReadCallback.class);
+        ModbusReadRequestBlueprint request1 = request(ModbusReadFunctionCode.READ_COILS, 0, 2);
+        ModbusReadRequestBlueprint request2 = request(ModbusReadFunctionCode.READ_COILS, 4, 2);
+        coalescer.registerRegularPoll(request1, 1000, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+        coalescer.registerRegularPoll(request2, 1000, callback, mock(ModbusFailureCallback.class));
+
+        ArgumentCaptor<ModbusReadCallback> mergedCallback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        ModbusReadRequestBlueprint merged = lastRegisteredRequest(mergedCallback);
+        assertThat(merged.getDataLength(), is(6));
+
+        mergedCallback.getValue().handle(
+                new AsyncModbusReadResult(merged, new BitArray(false, false, false, false, true, false)));
+        verify(callback).handle(argThat((AsyncModbusReadResult result) -> result.getRequest() == request2
+                && result.getBits().get().getBit(0) && !result.getBits().get().getBit(1)));
+    }
+
+    @Test
+    public void testFailureIsPassedToAllPolls() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback1 = mock(ModbusFailureCallback.class);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback2 = mock(ModbusFailureCallback.class);
+        ModbusReadRequestBlueprint request1 = registers(0, 2);
+        ModbusReadRequestBlueprint request2 = registers(1, 2);
+        coalescer.registerRegularPoll(request1, 1000, mock(ModbusReadCallback.class), failureCallback1);
+        coalescer.registerRegularPoll(request2, 1000, mock(ModbusReadCallback.class), failureCallback2);
+
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> mergedFailureCallback = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(),
+                mergedFailureCallback.capture());
+        ModbusReadRequestBlueprint merged = registers(0, 3);
+        mergedFailureCallback.getValue().handle(new AsyncModbusFailure<>(merged, new Exception("error")));
+
+        verify(failureCallback1).handle(argThat(failure -> failure.getRequest() == request1));
+        verify(failureCallback2).handle(argThat(failure -> failure.getRequest() == request2));
+    }
+
+    @Test
+    public void testIncompatiblePollsAreNotMerged() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 1);
+        coalescer.registerRegularPoll(registers(0, 2), 1000, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+        // Too far apart
+        coalescer.registerRegularPoll(registers(4, 2), 1000, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+        // Different refresh
+        coalescer.registerRegularPoll(registers(2, 2), 500, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+        // Different function code
+        coalescer.registerRegularPoll(request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2), 1000,
+                mock(ModbusReadCallback.class), mock(ModbusFailureCallback.class));
+        // Exceeds the maximum request length if merged
+        coalescer.registerRegularPoll(registers(6, 124), 1000, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+
+        verify(comms, times(5)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testUnregisterSplitsMergedPoll() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0);
+        List<ModbusPollCoalescer.Registration> registrations = List.of(
+                coalescer.registerRegularPoll(registers(0, 1), 1000, mock(ModbusReadCallback.class),
+                        mock(ModbusFailureCallback.class)),
+                coalescer.registerRegularPoll(registers(1, 1), 1000, mock(ModbusReadCallback.class),
+                        mock(ModbusFailureCallback.class)),
+                coalescer.registerRegularPoll(registers(2, 1), 1000, mock(ModbusReadCallback.class),
+                        mock(ModbusFailureCallback.class)));
+
+        assertThat(coalescer.unregisterRegularPoll(registrations.get(1)), is(true));
+        assertThat(coalescer.unregisterRegularPoll(registrations.get(1)), is(false));
+
+        // 0-0, 0-1, 0-2, then 0-0 and 2-2 after the middle poll is gone
+        verify(comms, times(5)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, times(3)).unregisterRegularPoll(any());
+
+        coalescer.close();
+        verify(comms, times(5)).unregisterRegularPoll(any());
+    }
+}
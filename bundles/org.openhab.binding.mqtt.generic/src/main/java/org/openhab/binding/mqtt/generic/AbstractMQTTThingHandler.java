@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -83,6 +84,23 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
+    private final Map<ChannelUID, CoalescedUpdate> coalescedUpdates = new ConcurrentHashMap<>();
+
+    /**
+     * State updates of a channel with a minimum update interval. Only the latest state received within
+     * the interval is applied at its end.
+     */
+    private static class CoalescedUpdate {
+        long lastUpdate;
+        @Nullable
+        State pendingState;
+        @Nullable
+        ScheduledFuture<?> future;
+
+        CoalescedUpdate(long lastUpdate) {
+            this.lastUpdate = lastUpdate;
+        }
+    }
 
     public AbstractMQTTThingHandler(Thing thing, int subscribeTimeout) {
         super(thing);
@@ -118,6 +136,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
      */
     protected void stop() {
         clearAllAvailabilityTopics();
+        clearCoalescedUpdates();
         resetMessageReceived();
     }
 
@@ -263,7 +282,57 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         if (messageReceived.compareAndSet(false, true)) {
             calculateThingStatus();
         }
-        super.updateState(channelUID, value);
+        final @Nullable ChannelState data = getChannelState(channelUID);
+        final int minUpdateInterval = data == null ? 0 : data.getMinUpdateInterval();
+        if (minUpdateInterval <= 0) {
+            super.updateState(channelUID, value);
+            return;
+        }
+
+        final long interval = TimeUnit.MILLISECONDS.toNanos(minUpdateInterval);
+        final long now = System.nanoTime();
+        CoalescedUpdate update = coalescedUpdates.computeIfAbsent(channelUID,
+                uid -> new CoalescedUpdate(now - interval));
+        synchronized (update) {
+            final long delay = update.lastUpdate + interval - now;
+            if (update.future == null && delay <= 0) {
+                update.lastUpdate = now;
+                super.updateState(channelUID, value);
+            } else {
+                // Last value wins, it is applied at the end of the interval
+                update.pendingState = value;
+                if (update.future == null) {
+                    update.future = scheduler.schedule(() -> applyCoalescedUpdate(channelUID, update), delay,
+                            TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private void applyCoalescedUpdate(ChannelUID channelUID, CoalescedUpdate update) {
+        synchronized (update) {
+            final State state = update.pendingState;
+            update.pendingState = null;
+            update.future = null;
+            update.lastUpdate = System.nanoTime();
+            if (state != null) {
+                super.updateState(channelUID, state);
+            }
+        }
+    }
+
+    private void clearCoalescedUpdates() {
+        coalescedUpdates.values().forEach(update -> {
+            synchronized (update) {
+                final ScheduledFuture<?> future = update.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                update.future = null;
+                update.pendingState = null;
+            }
+        });
+        coalescedUpdates.clear();
     }
 
     @Override
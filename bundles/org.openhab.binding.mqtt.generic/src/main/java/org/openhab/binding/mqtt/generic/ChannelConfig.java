@@ -43,6 +43,10 @@ public class ChannelConfig {
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
     public String unit = "";
+    /** If true, a received payload that equals the previous one does not update the state again. */
+    public boolean suppressDuplicates = false;
+    /** Minimum time in milliseconds between state updates. Values received in between are coalesced. */
+    public int minUpdateInterval = 0;
 
     public String transformationPattern = "";
     public String transformationPatternOut = "";
@@ -73,4 +73,14 @@ public class ChannelConfigBuilder {
         config.trigger = trigger;
         return this;
     }
+
+    public ChannelConfigBuilder withSuppressDuplicates(boolean suppressDuplicates) {
+        config.suppressDuplicates = suppressDuplicates;
+        return this;
+    }
+
+    public ChannelConfigBuilder withMinUpdateInterval(int minUpdateInterval) {
+        config.minUpdateInterval = minUpdateInterval;
+        return this;
+    }
 }
@@ -74,6 +74,12 @@ public class NumberValue extends Value {
         return true;
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     @Override
     public String getMQTTpublishValue(@Nullable String pattern) {
         if (state == UnDefType.UNDEF) {
@@ -132,6 +132,12 @@ public class PercentageValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     @Override
     public String getMQTTpublishValue(@Nullable String pattern) {
         if (state == UnDefType.UNDEF) {
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
 import java.util.List;
 
@@ -27,6 +28,7 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
 /**
@@ -136,6 +138,54 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses an untransformed MQTT payload into a command without decoding it into a string first.
+     * <p>
+     * Returns null if the payload is not handled by this shortcut. The payload is then decoded and parsed
+     * by the {@link TypeParser} into one of the {@link #getSupportedCommandTypes()}. A returned command must
+     * update this value the same way as the command the {@link TypeParser} would have returned.
+     * </p>
+     *
+     * @param payload The MQTT payload
+     * @return A command for {@link #update(Command)} or null
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a plain decimal number like "-12.5" without decoding the payload into a string.
+     *
+     * @param payload The MQTT payload
+     * @return The number or null if the payload is not a plain decimal number of at most 18 digits
+     */
+    protected static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        int i = payload.length > 0 && payload[0] == '-' ? 1 : 0;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < payload.length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0 && digits > 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || scale == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(payload[0] == '-' ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -155,6 +155,39 @@ public class ChannelStateTests {
         verify(channelStateUpdateListenerMock).updateChannelState(eq(channelUIDMock), any());
     }
 
+    @Test
+    public void receiveDuplicateTest() {
+        ChannelState c = spy(new ChannelState(
+                ChannelConfigBuilder.create("state", "command").withSuppressDuplicates(true).build(), channelUIDMock,
+                textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A TEST".getBytes());
+        c.processMessage("state", "A TEST".getBytes());
+        verify(channelStateUpdateListenerMock, times(1)).updateChannelState(eq(channelUIDMock), any());
+
+        c.processMessage("state", "ANOTHER TEST".getBytes());
+        assertThat(textValue.getChannelState().toString(), is("ANOTHER TEST"));
+        verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+    }
+
+    @Test
+    public void receiveDuplicateAfterCommandTest() throws Exception {
+        ChannelState c = spy(new ChannelState(
+                ChannelConfigBuilder.create("state", "command").withSuppressDuplicates(true).build(), channelUIDMock,
+                textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A TEST".getBytes());
+        c.publishValue(new StringType("COMMAND")).get();
+        assertThat(textValue.getChannelState().toString(), is("COMMAND"));
+
+        // the device rejected the command and reports the previous state again
+        c.processMessage("state", "A TEST".getBytes());
+        assertThat(textValue.getChannelState().toString(), is("A TEST"));
+        verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Test
     public void receiveDecimalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
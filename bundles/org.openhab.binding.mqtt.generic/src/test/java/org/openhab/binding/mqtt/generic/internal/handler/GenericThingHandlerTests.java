@@ -196,6 +196,26 @@ public class GenericThingHandlerTests {
         assertThat(textValue.getChannelState().toString(), is("UPDATE"));
     }
 
+    @Test
+    public void processMessagesCoalesced() {
+        TextValue textValue = new TextValue();
+        ChannelState channelConfig = spy(new ChannelState(
+                ChannelConfigBuilder.create("test/state", "test/state/set").withMinUpdateInterval(100).build(),
+                TEXT_CHANNEL_UID, textValue, thingHandler));
+        doReturn(channelConfig).when(thingHandler).createChannelState(any(), any(), any());
+        thingHandler.initialize();
+
+        channelConfig.processMessage("test/state", "FIRST".getBytes());
+        channelConfig.processMessage("test/state", "SECOND".getBytes());
+        channelConfig.processMessage("test/state", "THIRD".getBytes());
+
+        verify(callbackMock).stateUpdated(eq(TEXT_CHANNEL_UID), argThat(arg -> "FIRST".equals(arg.toString())));
+        verify(callbackMock, timeout(1000)).stateUpdated(eq(TEXT_CHANNEL_UID),
+                argThat(arg -> "THIRD".equals(arg.toString())));
+        verify(callbackMock, never()).stateUpdated(eq(TEXT_CHANNEL_UID),
+                argThat(arg -> "SECOND".equals(arg.toString())));
+    }
+
     @Test
     public void handleBridgeStatusChange() {
         Configuration config = new Configuration();
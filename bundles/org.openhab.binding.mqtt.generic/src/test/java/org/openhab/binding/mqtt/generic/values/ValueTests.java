@@ -363,4 +363,48 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.update(new DecimalType(9.0)));
     }
+
+    @Test
+    public void parsePayloadNumber() {
+        NumberValue v = new NumberValue(null, null, null, null);
+        assertThat(v.parsePayload("15".getBytes()), is(new DecimalType(15)));
+        assertThat(v.parsePayload("-2.50".getBytes()), is(new DecimalType(new BigDecimal("-2.50"))));
+        // Left to the TypeParser
+        assertNull(v.parsePayload("15 W".getBytes()));
+        assertNull(v.parsePayload("1e3".getBytes()));
+        assertNull(v.parsePayload(".5".getBytes()));
+        assertNull(v.parsePayload("5.".getBytes()));
+        assertNull(v.parsePayload("-".getBytes()));
+        assertNull(v.parsePayload("1234567890123456789".getBytes()));
+        assertNull(v.parsePayload(new byte[0]));
+    }
+
+    @Test
+    public void parsePayloadUpdatesLikeTypeParser() {
+        for (String payload : new String[] { "0", "-100", "42.25", "100" }) {
+            NumberValue parsedNumber = new NumberValue(null, null, null, Units.WATT);
+            NumberValue expectedNumber = new NumberValue(null, null, null, Units.WATT);
+            parsedNumber.update(Objects.requireNonNull(parsedNumber.parsePayload(payload.getBytes())));
+            expectedNumber.update(p(expectedNumber, payload));
+            assertThat(parsedNumber.getChannelState(), is(expectedNumber.getChannelState()));
+
+            PercentageValue parsedPercent = new PercentageValue(new BigDecimal(-100), new BigDecimal(100), null, null,
+                    null);
+            PercentageValue expectedPercent = new PercentageValue(new BigDecimal(-100), new BigDecimal(100), null,
+                    null, null);
+            parsedPercent.update(Objects.requireNonNull(parsedPercent.parsePayload(payload.getBytes())));
+            expectedPercent.update(p(expectedPercent, payload));
+            assertThat(parsedPercent.getChannelState(), is(expectedPercent.getChannelState()));
+        }
+    }
+
+    @Test
+    public void parsePayloadOnOff() {
+        OnOffValue v = new OnOffValue("fancyON", "fancyOff");
+        assertThat(v.parsePayload("ON".getBytes()), is(OnOffType.ON));
+        assertThat(v.parsePayload("OFF".getBytes()), is(OnOffType.OFF));
+        assertThat(v.parsePayload("fancyON".getBytes()), is(OnOffType.ON));
+        assertThat(v.parsePayload("fancyOff".getBytes()), is(OnOffType.OFF));
+        assertNull(v.parsePayload("on".getBytes()));
+    }
 }
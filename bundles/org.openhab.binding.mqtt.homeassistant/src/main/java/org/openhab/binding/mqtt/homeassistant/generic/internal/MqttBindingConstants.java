@@ -30,4 +30,7 @@ public class MqttBindingConstants {
     public static final ThingTypeUID HOMEASSISTANT_MQTT_THING = new ThingTypeUID(BINDING_ID, "homeassistant");
 
     public static final String CONFIG_HA_CHANNEL = "channel-type:mqtt:ha-channel";
+
+    // Shared thread pool for parsing discovered component configurations
+    public static final String DISCOVERY_THREADPOOL_NAME = "mqtt-homeassistant-discovery";
 }
@@ -14,8 +14,11 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +56,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final ChannelStateUpdateListener updateListener;
     private final AvailabilityTracker tracker;
     private final TransformationServiceProvider transformationServiceProvider;
+    private final Executor executor;
+    private final Map<String, Integer> configHashPerTopic = new ConcurrentHashMap<>();
 
     protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
@@ -68,6 +73,18 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Called before a received configuration is parsed. A known component with the same configuration
+         * is kept as it is and no new component is created.
+         *
+         * @param homeAssistantTopicID The component ID
+         * @param configHash Hash of the received configuration
+         * @return True if the component is already known with this configuration
+         */
+        default boolean isComponentKnown(HaID homeAssistantTopicID, int configHash) {
+            return false;
+        }
     }
 
     /**
@@ -80,12 +97,28 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler,
             ChannelStateUpdateListener channelStateUpdateListener, AvailabilityTracker tracker, Gson gson,
             TransformationServiceProvider transformationServiceProvider) {
+        this(thingUID, scheduler, channelStateUpdateListener, tracker, gson, transformationServiceProvider,
+                Runnable::run);
+    }
+
+    /**
+     * Create a new discovery object that creates the discovered components with the given executor.
+     *
+     * @param thingUID The Thing UID to perform the discovery for.
+     * @param scheduler A scheduler for timeouts
+     * @param channelStateUpdateListener Channel update listener. Usually the handler.
+     * @param executor Executor for parsing configurations, e.g. a thread pool to parse them in parallel
+     */
+    public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler,
+            ChannelStateUpdateListener channelStateUpdateListener, AvailabilityTracker tracker, Gson gson,
+            TransformationServiceProvider transformationServiceProvider, Executor executor) {
         this.thingUID = thingUID;
         this.scheduler = scheduler;
         this.updateListener = channelStateUpdateListener;
         this.gson = gson;
         this.tracker = tracker;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.executor = executor;
     }
 
     @Override
@@ -96,30 +129,48 @@ public class DiscoverComponents implements MqttMessageSubscriber {
 
         HaID haID = new HaID(topic);
         String config = new String(payload);
-        AbstractComponent<?> component = null;
+        if (config.isEmpty()) {
+            logger.warn("Configuration of HomeAssistant thing {} is empty", haID.objectID);
+            return;
+        }
 
-        if (config.length() > 0) {
-            try {
-                component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
-                        gson, transformationServiceProvider);
-                component.setConfigSeen();
+        // Retained configurations are received again on every start, unchanged ones need not to be parsed
+        int configHash = config.hashCode();
+        configHashPerTopic.put(topic, configHash);
+        ComponentDiscovered discoveredListener = this.discoveredListener;
+        if (discoveredListener != null && discoveredListener.isComponentKnown(haID, configHash)) {
+            logger.trace("HomeAssistant thing {} component {} is unchanged", haID.objectID, haID.component);
+            return;
+        }
+        executor.execute(() -> createComponent(topic, haID, config, configHash));
+    }
 
-                logger.trace("Found HomeAssistant thing {} component {}", haID.objectID, haID.component);
+    private void createComponent(String topic, HaID haID, String config, int configHash) {
+        try {
+            AbstractComponent<?> component = ComponentFactory.createComponent(thingUID, haID, config, updateListener,
+                    tracker, scheduler, gson, transformationServiceProvider);
+            component.setConfigSeen();
 
-                if (discoveredListener != null) {
-                    discoveredListener.componentDiscovered(haID, component);
-                }
-            } catch (UnsupportedComponentException e) {
-                logger.warn("HomeAssistant discover error: thing {} component type is unsupported: {}", haID.objectID,
+            Integer latestConfigHash = configHashPerTopic.get(topic);
+            if (latestConfigHash == null || latestConfigHash != configHash) {
+                logger.trace("HomeAssistant thing {} component {} changed while parsing", haID.objectID,
                         haID.component);
-            } catch (ConfigurationException e) {
-                logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
-                        haID.objectID, haID.component, e.getMessage());
-            } catch (Exception e) {
-                logger.warn("HomeAssistant discover error: {}", e.getMessage());
+                return;
             }
-        } else {
-            logger.warn("Configuration of HomeAssistant thing {} is empty", haID.objectID);
+            logger.trace("Found HomeAssistant thing {} component {}", haID.objectID, haID.component);
+
+            ComponentDiscovered discoveredListener = this.discoveredListener;
+            if (discoveredListener != null) {
+                discoveredListener.componentDiscovered(haID, component);
+            }
+        } catch (UnsupportedComponentException e) {
+            logger.warn("HomeAssistant discover error: thing {} component type is unsupported: {}", haID.objectID,
+                    haID.component);
+        } catch (ConfigurationException e) {
+            logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
+                    haID.objectID, haID.component, e.getMessage());
+        } catch (Exception e) {
+            logger.warn("HomeAssistant discover error: {}", e.getMessage());
         }
     }
 
@@ -178,6 +229,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
             this.stopDiscoveryFuture = null;
         }
         this.discoveredListener = null;
+        configHashPerTopic.clear();
         final MqttBrokerConnection connection = connectionRef.get();
         if (connection != null) {
             this.topics.stream().forEach(t -> connection.unsubscribe(t, this));
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,6 +25,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -42,6 +44,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.config.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.config.dto.AbstractChannelConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.config.discovery.DiscoveryService;
@@ -70,9 +73,13 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    private final Map<String, Integer> configHashPerTopic = new ConcurrentHashMap<>();
+    private final Map<String, ParsedConfiguration> parsedConfigPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
+    private final Executor discoveryExecutor = ThreadPoolManager
+            .getPool(MqttBindingConstants.DISCOVERY_THREADPOOL_NAME);
 
     public static final Map<String, String> HA_COMP_TO_NAME = new TreeMap<>();
     {
@@ -170,79 +177,106 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        // The configurations are parsed in parallel. Retained configurations are received again on every scan,
+        // so the parsed configuration of a topic is kept and only parsed again if the payload changed.
+        final HaID haID = new HaID(topic);
+        final int configHash = Arrays.hashCode(payload);
+        configHashPerTopic.put(topic, configHash);
+        discoveryExecutor.execute(() -> discoverComponent(connectionBridge, topic, haID, payload, configHash));
+    }
+
+    private void discoverComponent(ThingUID connectionBridge, String topic, HaID haID, byte[] payload,
+            int configHash) {
+        try {
+            final ParsedConfiguration parsed = parsedConfigPerTopic.get(topic);
+            final AbstractChannelConfiguration config;
+            if (parsed != null && parsed.hash == configHash) {
+                config = parsed.config;
+            } else {
+                config = AbstractChannelConfiguration.fromString(new String(payload, StandardCharsets.UTF_8), gson);
+            }
+
+            synchronized (componentsPerThingID) {
+                // Drop the result if the topic changed or vanished while parsing
+                Integer latestConfigHash = configHashPerTopic.get(topic);
+                if (latestConfigHash == null || latestConfigHash != configHash) {
+                    return;
+                }
+                parsedConfigPerTopic.put(topic, new ParsedConfiguration(configHash, config));
+                addComponent(connectionBridge, topic, haID, config);
+
+                // Reset the found-component timer.
+                // We will collect components for the thing label description for another 2 seconds.
+                final ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+            }
+        } catch (ConfigurationException e) {
+            logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
+                    haID.objectID, haID.component, e.getMessage());
+        } catch (Exception e) {
+            logger.warn("HomeAssistant discover error: {}", e.getMessage());
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+    }
 
+    private void addComponent(ThingUID connectionBridge, String topic, HaID haID, AbstractChannelConfiguration config) {
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
         // easily recognize object capabilities.
-        HaID haID = new HaID(topic);
-
-        try {
-            AbstractChannelConfiguration config = AbstractChannelConfiguration
-                    .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        final String thingID = config.getThingId(haID.objectID);
 
-            final String thingID = config.getThingId(haID.objectID);
+        final ThingTypeUID typeID = new ThingTypeUID(MqttBindingConstants.BINDING_ID,
+                MqttBindingConstants.HOMEASSISTANT_MQTT_THING.getId() + "_" + thingID);
 
-            final ThingTypeUID typeID = new ThingTypeUID(MqttBindingConstants.BINDING_ID,
-                    MqttBindingConstants.HOMEASSISTANT_MQTT_THING.getId() + "_" + thingID);
+        final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
 
-            final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
+        thingIDPerTopic.put(topic, thingUID);
 
-            thingIDPerTopic.put(topic, thingUID);
+        // We need to keep track of already found component topics for a specific thing
+        final List<HaID> components;
+        {
+            Set<HaID> componentsUnordered = componentsPerThingID.computeIfAbsent(thingID,
+                    key -> ConcurrentHashMap.newKeySet());
 
-            // We need to keep track of already found component topics for a specific thing
-            final List<HaID> components;
-            {
-                Set<HaID> componentsUnordered = componentsPerThingID.computeIfAbsent(thingID,
-                        key -> ConcurrentHashMap.newKeySet());
+            // Invariant. For compiler, computeIfAbsent above returns always
+            // non-null
+            Objects.requireNonNull(componentsUnordered);
+            componentsUnordered.add(haID);
 
-                // Invariant. For compiler, computeIfAbsent above returns always
-                // non-null
-                Objects.requireNonNull(componentsUnordered);
-                componentsUnordered.add(haID);
-
-                components = componentsUnordered.stream().collect(Collectors.toList());
-                // We sort the components for consistent jsondb serialization order of 'topics' thing property
-                // Sorting key is HaID::toString, i.e. using the full topic string
-                components.sort(Comparator.comparing(HaID::toString));
-            }
+            components = componentsUnordered.stream().collect(Collectors.toList());
+            // We sort the components for consistent jsondb serialization order of 'topics' thing property
+            // Sorting key is HaID::toString, i.e. using the full topic string
+            components.sort(Comparator.comparing(HaID::toString));
+        }
 
-            final String componentNames = getComponentNamesSummary(
-                    components.stream().map(id -> id.component).map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)));
+        final String componentNames = getComponentNamesSummary(
+                components.stream().map(id -> id.component).map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)));
 
-            final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
 
-            Map<String, Object> properties = new HashMap<>();
-            HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
-            properties = handlerConfig.appendToProperties(properties);
-            properties = config.appendToProperties(properties);
-            properties.put("deviceId", thingID);
+        Map<String, Object> properties = new HashMap<>();
+        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
+        properties = handlerConfig.appendToProperties(properties);
+        properties = config.appendToProperties(properties);
+        properties.put("deviceId", thingID);
 
-            // Because we need the new properties map with the updated "components" list
-            results.put(thingUID.getAsString(),
-                    DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                            .withRepresentationProperty("deviceId").withBridge(connectionBridge)
-                            .withLabel(config.getThingName() + " (" + componentNames + ")").build());
-        } catch (ConfigurationException e) {
-            logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
-                    haID.objectID, haID.component, e.getMessage());
-        } catch (Exception e) {
-            logger.warn("HomeAssistant discover error: {}", e.getMessage());
-        }
+        // Because we need the new properties map with the updated "components" list
+        results.put(thingUID.getAsString(),
+                DiscoveryResultBuilder.create(thingUID).withProperties(properties)
+                        .withRepresentationProperty("deviceId").withBridge(connectionBridge)
+                        .withLabel(config.getThingName() + " (" + componentNames + ")").build());
     }
 
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
-        localResults = new ArrayList<>(results.values());
-        results.clear();
-        componentsPerThingID.clear();
+        synchronized (componentsPerThingID) {
+            localResults = new ArrayList<>(results.values());
+            results.clear();
+            componentsPerThingID.clear();
+        }
         for (DiscoveryResult result : localResults) {
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
@@ -257,7 +291,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
+        configHashPerTopic.remove(topic);
+        parsedConfigPerTopic.remove(topic);
+        synchronized (componentsPerThingID) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             if (thingUID != null) {
                 final String thingID = thingUID.getId();
@@ -272,4 +308,17 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             }
         }
     }
+
+    /**
+     * A parsed configuration together with the hash of its payload
+     */
+    private static class ParsedConfiguration {
+        final int hash;
+        final AbstractChannelConfiguration config;
+
+        ParsedConfiguration(int hash, AbstractChannelConfiguration config) {
+            this.hash = hash;
+            this.config = config;
+        }
+    }
 }
@@ -223,6 +223,26 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         });
     }
 
+    @Test
+    public void testUnchangedComponentPublish() {
+        thingHandler.initialize();
+
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT)).start(any());
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+
+        // The retained configuration is received again, e.g. after a reconnect, the known component is kept
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        verify(thingHandler, times(1)).componentDiscovered(any(), any());
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+        verify(channelTypeProvider, times(6)).setChannelType(any(), any());
+    }
+
     @Test
     public void testDispose() {
         thingHandler.initialize();
@@ -13,15 +13,19 @@
 package org.openhab.binding.mqtt.handler;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.net.ssl.TrustManager;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.internal.DispatchingBrokerConnection;
 import org.openhab.binding.mqtt.internal.ssl.Pin;
 import org.openhab.binding.mqtt.internal.ssl.PinMessageDigest;
 import org.openhab.binding.mqtt.internal.ssl.PinTrustManager;
@@ -200,8 +204,13 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
             throw new IllegalArgumentException("Host is empty!");
         }
 
-        final MqttBrokerConnection connection = new MqttBrokerConnection(config.protocol, config.mqttVersion, host,
-                config.port, config.secure, config.hostnameValidated, config.clientID);
+        final List<String> dispatchTopics = Stream.of(config.dispatchTopics.split(",")).map(String::trim)
+                .filter(t -> !t.isEmpty()).collect(Collectors.toList());
+        final MqttBrokerConnection connection = dispatchTopics.isEmpty()
+                ? new MqttBrokerConnection(config.protocol, config.mqttVersion, host, config.port, config.secure,
+                        config.hostnameValidated, config.clientID)
+                : new DispatchingBrokerConnection(config.protocol, config.mqttVersion, host, config.port,
+                        config.secure, config.hostnameValidated, config.clientID, dispatchTopics);
 
         final String username = config.username;
         final String password = config.password;
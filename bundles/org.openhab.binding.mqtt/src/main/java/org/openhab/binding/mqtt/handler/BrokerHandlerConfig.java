@@ -37,6 +37,9 @@ public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
 
     public boolean enableDiscovery = true;
 
+    // Comma separated topic filters of which the messages are dispatched by the binding
+    public String dispatchTopics = "";
+
     // Birth message parameters
     public @Nullable String birthTopic;
     public @Nullable String birthMessage;
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A broker connection that dispatches the messages of configured topic filters itself.
+ *
+ * Subscriptions of things to topics below one of the dispatch topics are not subscribed at the broker. They are
+ * registered in a {@link TopicTrie} instead and the connection subscribes to the dispatch topic once. Received
+ * messages are then matched in the trie, instead of against every single subscription of the connection.
+ * Subscriptions to other topics are passed on unchanged.
+ *
+ * The broker sends retained messages only for new subscriptions, so subscribers added while the dispatch topic is
+ * already subscribed get the retained messages kept by the connection for the dispatch topic instead. The connection
+ * only hands out all of them at once, so the topics that received messages are indexed as well and retained
+ * messages are only replayed if one of these topics matches the new subscription.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class DispatchingBrokerConnection extends MqttBrokerConnection {
+    private final Logger logger = LoggerFactory.getLogger(DispatchingBrokerConnection.class);
+
+    private final List<String> dispatchTopics = new ArrayList<>();
+    private final TopicTrie<MqttMessageSubscriber> subscriptions = new TopicTrie<>();
+    private final Map<String, Integer> subscriptionCounts = new HashMap<>();
+    private final Set<String> receivedTopics = ConcurrentHashMap.newKeySet();
+    private final TopicTrie<String> receivedTopicIndex = new TopicTrie<>();
+    private final MqttMessageSubscriber dispatcher = this::dispatch;
+
+    /**
+     * Creates a connection, see {@link MqttBrokerConnection} for the parameters.
+     *
+     * @param dispatchTopics Topic filters of which the messages are dispatched by this connection.
+     *            Filters covered by another one are ignored.
+     */
+    public DispatchingBrokerConnection(Protocol protocol, MqttVersion mqttVersion, String host,
+            @Nullable Integer port, boolean secure, boolean hostnameValidated, @Nullable String clientId,
+            List<String> dispatchTopics) {
+        super(protocol, mqttVersion, host, port, secure, hostnameValidated, clientId);
+        for (String topic : dispatchTopics) {
+            boolean covered = dispatchTopics.stream()
+                    .anyMatch(other -> !other.equals(topic) && TopicTrie.covers(other, topic));
+            if (!covered && !this.dispatchTopics.contains(topic)) {
+                this.dispatchTopics.add(topic);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        final String dispatchTopic = getDispatchTopic(topic);
+        if (dispatchTopic == null) {
+            return super.subscribe(topic, subscriber);
+        }
+        final boolean replayRetained;
+        synchronized (subscriptionCounts) {
+            if (!subscriptions.add(topic, subscriber)) {
+                return super.subscribe(dispatchTopic, dispatcher);
+            }
+            replayRetained = subscriptionCounts.containsKey(dispatchTopic);
+            subscriptionCounts.merge(dispatchTopic, 1, Integer::sum);
+        }
+        // Subscribing the dispatcher again is a no-op at the broker
+        final CompletableFuture<Boolean> future = super.subscribe(dispatchTopic, dispatcher);
+        if (replayRetained) {
+            replayRetainedMessages(dispatchTopic, topic, subscriber);
+        }
+        return future;
+    }
+
+    /**
+     * The connection delivers the retained messages it received on a topic synchronously to every subscriber newly
+     * added to it. A temporary subscriber of the dispatch topic passes those of the matching topics on to the
+     * subscriber. It is skipped if no message was received on a matching topic, so only subscribers of topics with
+     * messages pay for the replay.
+     */
+    private void replayRetainedMessages(String dispatchTopic, String topic, MqttMessageSubscriber subscriber) {
+        final Set<String> topics = new HashSet<>(receivedTopicIndex.matchFilter(topic));
+        if (topics.isEmpty()) {
+            return;
+        }
+        final MqttMessageSubscriber replay = (messageTopic, payload) -> {
+            if (topics.contains(messageTopic)) {
+                subscriber.processMessage(messageTopic, payload);
+            }
+        };
+        super.subscribe(dispatchTopic, replay);
+        super.unsubscribe(dispatchTopic, replay);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        final String dispatchTopic = getDispatchTopic(topic);
+        if (dispatchTopic == null) {
+            return super.unsubscribe(topic, subscriber);
+        }
+        synchronized (subscriptionCounts) {
+            if (!subscriptions.remove(topic, subscriber)) {
+                return CompletableFuture.completedFuture(true);
+            }
+            Integer count = subscriptionCounts.merge(dispatchTopic, -1, Integer::sum);
+            if (count != null && count > 0) {
+                return CompletableFuture.completedFuture(true);
+            }
+            subscriptionCounts.remove(dispatchTopic);
+            // the connection drops the retained messages of the topic with its subscription
+            receivedTopicIndex.matchFilter(dispatchTopic).forEach(receivedTopic -> {
+                receivedTopics.remove(receivedTopic);
+                receivedTopicIndex.remove(receivedTopic, receivedTopic);
+            });
+        }
+        return super.unsubscribe(dispatchTopic, dispatcher);
+    }
+
+    @Override
+    public CompletableFuture<Void> unsubscribeAll() {
+        synchronized (subscriptionCounts) {
+            subscriptions.clear();
+            subscriptionCounts.clear();
+            receivedTopics.clear();
+            receivedTopicIndex.clear();
+        }
+        return super.unsubscribeAll();
+    }
+
+    private @Nullable String getDispatchTopic(String topic) {
+        for (String dispatchTopic : dispatchTopics) {
+            if (TopicTrie.covers(dispatchTopic, topic)) {
+                return dispatchTopic;
+            }
+        }
+        return null;
+    }
+
+    private void dispatch(String topic, byte[] payload) {
+        if (receivedTopics.add(topic)) {
+            receivedTopicIndex.add(topic, topic);
+        }
+        for (MqttMessageSubscriber subscriber : subscriptions.match(topic)) {
+            try {
+                subscriber.processMessage(topic, payload);
+            } catch (RuntimeException e) {
+                logger.warn("Subscriber {} failed to process message on topic {}", subscriber, topic, e);
+            }
+        }
+    }
+}
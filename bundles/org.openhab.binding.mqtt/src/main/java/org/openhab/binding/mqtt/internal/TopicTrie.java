@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A tree of MQTT topic filters, one node per topic level. Filters may contain the single level wildcard "+"
+ * and the multi level wildcard "#".
+ *
+ * Matching a topic against all filters only follows the literal and wildcard children of the visited nodes,
+ * so its cost depends on the depth of the topic and not on the number of filters.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>();
+        final Set<T> values = new LinkedHashSet<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Adds a value for a topic filter
+     *
+     * @param filter The topic filter, wildcards are supported
+     * @param value The value
+     * @return True if the value was not registered for this filter before
+     */
+    public boolean add(String filter, T value) {
+        lock.writeLock().lock();
+        try {
+            Node<T> node = root;
+            for (String level : filter.split("/", -1)) {
+                node = node.children.computeIfAbsent(level, l -> new Node<>());
+            }
+            return node.values.add(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a value of a topic filter
+     *
+     * @param filter The topic filter as it was added
+     * @param value The value
+     * @return True if the value was registered for this filter
+     */
+    public boolean remove(String filter, T value) {
+        lock.writeLock().lock();
+        try {
+            return remove(root, filter.split("/", -1), 0, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of all filters matching a topic. A value registered for several matching filters is
+     * returned once per filter.
+     *
+     * @param topic The topic of a received message, without wildcards
+     * @return The values of the matching filters
+     */
+    public List<T> match(String topic) {
+        List<T> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // Wildcards on the first level do not match topics starting with '$', see MQTT 3.1.1 section 4.7.2
+            match(root, topic, 0, !topic.startsWith("$"), result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void match(Node<T> node, String topic, int start, boolean matchWildcards, List<T> result) {
+        // "#" also matches the parent level, "a/#" matches "a"
+        Node<T> multiLevel = matchWildcards ? node.children.get(MULTI_LEVEL_WILDCARD) : null;
+        if (multiLevel != null) {
+            result.addAll(multiLevel.values);
+        }
+        if (start > topic.length()) {
+            result.addAll(node.values);
+            return;
+        }
+        int end = topic.indexOf('/', start);
+        if (end < 0) {
+            end = topic.length();
+        }
+        Node<T> child = node.children.get(topic.substring(start, end));
+        if (child != null) {
+            match(child, topic, end + 1, true, result);
+        }
+        Node<T> singleLevel = matchWildcards ? node.children.get(SINGLE_LEVEL_WILDCARD) : null;
+        if (singleLevel != null) {
+            match(singleLevel, topic, end + 1, true, result);
+        }
+    }
+
+    /**
+     * Returns the values of all topics matched by a filter. This is the reverse of {@link #match(String)} and
+     * expects the trie to contain topics without wildcards.
+     *
+     * @param filter The topic filter, wildcards are supported
+     * @return The values of the matched topics
+     */
+    public List<T> matchFilter(String filter) {
+        List<T> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            matchFilter(root, filter.split("/", -1), 0, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void matchFilter(Node<T> node, String[] levels, int index, List<T> result) {
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        String level = levels[index];
+        if (MULTI_LEVEL_WILDCARD.equals(level)) {
+            // "#" also matches the parent level, "a/#" matches "a"
+            result.addAll(node.values);
+            node.children.forEach((childLevel, child) -> {
+                if (index > 0 || !childLevel.startsWith("$")) {
+                    collect(child, result);
+                }
+            });
+        } else if (SINGLE_LEVEL_WILDCARD.equals(level)) {
+            node.children.forEach((childLevel, child) -> {
+                if (index > 0 || !childLevel.startsWith("$")) {
+                    matchFilter(child, levels, index + 1, result);
+                }
+            });
+        } else {
+            Node<T> child = node.children.get(level);
+            if (child != null) {
+                matchFilter(child, levels, index + 1, result);
+            }
+        }
+    }
+
+    private void collect(Node<T> node, List<T> result) {
+        result.addAll(node.values);
+        node.children.values().forEach(child -> collect(child, result));
+    }
+
+    public boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            return root.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.values.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if every topic matched by a filter is also matched by another filter
+     *
+     * @param coveringFilter The potentially covering topic filter
+     * @param filter The topic filter to check
+     * @return True if the filter is covered
+     */
+    public static boolean covers(String coveringFilter, String filter) {
+        String[] covering = coveringFilter.split("/", -1);
+        String[] levels = filter.split("/", -1);
+        for (int i = 0; i < covering.length; i++) {
+            if (MULTI_LEVEL_WILDCARD.equals(covering[i])) {
+                return i > 0 || !filter.startsWith("$");
+            }
+            if (i == levels.length) {
+                return false;
+            }
+            if (SINGLE_LEVEL_WILDCARD.equals(covering[i])) {
+                if (MULTI_LEVEL_WILDCARD.equals(levels[i]) || (i == 0 && filter.startsWith("$"))) {
+                    return false;
+                }
+            } else if (!covering[i].equals(levels[i])) {
+                return false;
+            }
+        }
+        return covering.length == levels.length;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.io.transport.mqtt.internal.Subscription;
+
+/**
+ * Tests the {@link DispatchingBrokerConnection} class.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class DispatchingBrokerConnectionTest {
+    private static final String DISPATCH_TOPIC = "devices/#";
+
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber kitchen;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber bath;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber other;
+
+    private @NonNullByDefault({}) DispatchingBrokerConnectionEx connection;
+
+    /**
+     * Gives access to the subscriptions of the connection at the broker
+     */
+    private static class DispatchingBrokerConnectionEx extends DispatchingBrokerConnection {
+        DispatchingBrokerConnectionEx(List<String> dispatchTopics) {
+            super(Protocol.TCP, MqttVersion.V3, "10.10.0.10", 80, false, false, "DispatchingBrokerConnectionTest",
+                    dispatchTopics);
+        }
+
+        Map<String, Subscription> getSubscribers() {
+            return subscribers;
+        }
+
+        void messageArrived(String topic, String payload, boolean retain) {
+            Objects.requireNonNull(subscribers.get(DISPATCH_TOPIC)).messageArrived(topic, payload.getBytes(), retain);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        connection = new DispatchingBrokerConnectionEx(List.of(DISPATCH_TOPIC, "devices/+/state"));
+    }
+
+    @Test
+    public void coveredSubscriptionsShareTheDispatchTopic() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.subscribe("devices/bath/+", bath);
+        connection.subscribe("other/topic", other);
+
+        assertThat(connection.getSubscribers().keySet(), containsInAnyOrder(DISPATCH_TOPIC, "other/topic"));
+    }
+
+    @Test
+    public void dispatchTopicIsUnsubscribedWithItsLastSubscriber() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.subscribe("devices/bath/state", bath);
+
+        connection.unsubscribe("devices/kitchen/state", kitchen);
+        // not subscribed, must not release the subscription of another subscriber
+        connection.unsubscribe("devices/bath/state", kitchen);
+        assertThat(connection.getSubscribers(), hasKey(DISPATCH_TOPIC));
+
+        connection.unsubscribe("devices/bath/state", bath);
+        assertThat(connection.getSubscribers(), not(hasKey(DISPATCH_TOPIC)));
+    }
+
+    @Test
+    public void messagesAreDispatchedToMatchingSubscribers() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.subscribe("devices/+/state", bath);
+
+        connection.messageArrived("devices/kitchen/state", "ON", false);
+        connection.messageArrived("devices/bath/state", "OFF", false);
+
+        verify(kitchen).processMessage(eq("devices/kitchen/state"), aryEq("ON".getBytes()));
+        verify(kitchen, never()).processMessage(eq("devices/bath/state"), any());
+        verify(bath).processMessage(eq("devices/kitchen/state"), aryEq("ON".getBytes()));
+        verify(bath).processMessage(eq("devices/bath/state"), aryEq("OFF".getBytes()));
+    }
+
+    @Test
+    public void retainedMessagesAreReplayedToLateSubscribers() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.messageArrived("devices/kitchen/state", "ON", true);
+        connection.messageArrived("devices/bath/state", "OFF", true);
+
+        connection.subscribe("devices/bath/state", bath);
+
+        verify(bath).processMessage(eq("devices/bath/state"), aryEq("OFF".getBytes()));
+        verify(bath, never()).processMessage(eq("devices/kitchen/state"), any());
+        // the subscriber that received the retained message already doesn't get it again
+        verify(kitchen, times(1)).processMessage(eq("devices/kitchen/state"), any());
+
+        // messages are not delivered twice after the replay
+        connection.messageArrived("devices/bath/state", "ON", false);
+        verify(bath).processMessage(eq("devices/bath/state"), aryEq("ON".getBytes()));
+    }
+
+    @Test
+    public void onlyRetainedMessagesOfReceivedTopicsAreReplayed() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.messageArrived("devices/bath/state", "OFF", false);
+        connection.messageArrived("devices/bath/power", "10", true);
+        // an empty retained message clears the retained message of the topic
+        connection.messageArrived("devices/bath/power", "", true);
+
+        // replayed synchronously by the subscriptions of the real connection while subscribing
+        connection.subscribe("devices/bath/+", bath);
+        connection.subscribe("devices/hall/state", other);
+
+        verifyNoInteractions(bath, other);
+    }
+
+    @Test
+    public void retainedMessagesAreForgottenWithTheDispatchTopic() {
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.messageArrived("devices/kitchen/state", "ON", true);
+        connection.unsubscribe("devices/kitchen/state", kitchen);
+
+        connection.subscribe("devices/kitchen/state", kitchen);
+        connection.subscribe("devices/+/state", bath);
+
+        verify(kitchen, times(1)).processMessage(eq("devices/kitchen/state"), any());
+        verifyNoInteractions(bath);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TopicTrie} class.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTrieTest {
+
+    @Test
+    public void matchLiteralAndWildcardFilters() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("home/kitchen/temperature", "literal");
+        trie.add("home/+/temperature", "single");
+        trie.add("home/#", "multi");
+        trie.add("office/+", "other");
+
+        assertThat(trie.match("home/kitchen/temperature"), containsInAnyOrder("literal", "single", "multi"));
+        assertThat(trie.match("home/bath/temperature"), containsInAnyOrder("single", "multi"));
+        assertThat(trie.match("home"), containsInAnyOrder("multi"));
+        assertThat(trie.match("office/desk"), containsInAnyOrder("other"));
+        assertThat(trie.match("office/desk/lamp"), is(empty()));
+    }
+
+    @Test
+    public void wildcardsDoNotMatchSystemTopics() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("#", "all");
+        trie.add("$SYS/#", "system");
+
+        assertThat(trie.match("$SYS/broker/uptime"), containsInAnyOrder("system"));
+        assertThat(trie.match("home/light"), containsInAnyOrder("all"));
+    }
+
+    @Test
+    public void removePrunesFilters() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("home/+/temperature", "a");
+        trie.add("home/+/temperature", "b");
+
+        assertThat(trie.remove("home/+/temperature", "a"), is(true));
+        assertThat(trie.remove("home/+/temperature", "a"), is(false));
+        assertThat(trie.match("home/kitchen/temperature"), containsInAnyOrder("b"));
+        trie.remove("home/+/temperature", "b");
+        assertThat(trie.isEmpty(), is(true));
+    }
+
+    @Test
+    public void matchFilterReturnsMatchedTopics() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        for (String topic : List.of("home", "home/kitchen/temperature", "home/bath/temperature", "home/bath/humidity",
+                "office/desk", "$SYS/broker/uptime")) {
+            trie.add(topic, topic);
+        }
+
+        assertThat(trie.matchFilter("home/kitchen/temperature"), containsInAnyOrder("home/kitchen/temperature"));
+        assertThat(trie.matchFilter("home/+/temperature"),
+                containsInAnyOrder("home/kitchen/temperature", "home/bath/temperature"));
+        assertThat(trie.matchFilter("home/#"), containsInAnyOrder("home", "home/kitchen/temperature",
+                "home/bath/temperature", "home/bath/humidity"));
+        assertThat(trie.matchFilter("+/desk"), containsInAnyOrder("office/desk"));
+        assertThat(trie.matchFilter("#"), not(hasItem("$SYS/broker/uptime")));
+        assertThat(trie.matchFilter("$SYS/#"), containsInAnyOrder("$SYS/broker/uptime"));
+        assertThat(trie.matchFilter("home/+"), is(empty()));
+    }
+
+    @Test
+    public void covers() {
+        assertThat(TopicTrie.covers("zigbee2mqtt/#", "zigbee2mqtt/lamp"), is(true));
+        assertThat(TopicTrie.covers("zigbee2mqtt/#", "zigbee2mqtt/+/set"), is(true));
+        assertThat(TopicTrie.covers("zigbee2mqtt/#", "zigbee2mqtt"), is(true));
+        assertThat(TopicTrie.covers("+/status", "lamp/status"), is(true));
+        assertThat(TopicTrie.covers("+/status", "#"), is(false));
+        assertThat(TopicTrie.covers("zigbee2mqtt/+", "zigbee2mqtt/lamp/state"), is(false));
+        assertThat(TopicTrie.covers("zigbee2mqtt/lamp", "zigbee2mqtt/+"), is(false));
+        assertThat(TopicTrie.covers("#", "$SYS/uptime"), is(false));
+    }
+}
@@ -31,11 +31,16 @@ public class MetricsConfiguration {
 
     public boolean jmxMetricsEnabled = false;
 
+    public boolean instrumentationEnabled = false;
+    public String instrumentedSchedulers = "thingHandler,common";
+
     @Override
     public String toString() {
         return "MetricsConfiguration{" + "influxMetricsEnabled=" + influxMetricsEnabled + ", influxURL='" + influxURL
                 + '\'' + ", influxDB='" + influxDB + '\'' + ", influxPassword='" + influxPassword + '\''
                 + ", influxUsername='" + influxUsername + '\'' + ", influxUpdateIntervalInSeconds="
-                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled + '}';
+                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled
+                + ", instrumentationEnabled=" + instrumentationEnabled + ", instrumentedSchedulers='"
+                + instrumentedSchedulers + '\'' + '}';
     }
 }
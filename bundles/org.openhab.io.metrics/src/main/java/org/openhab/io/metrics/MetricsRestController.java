@@ -12,6 +12,7 @@
  */
 package org.openhab.io.metrics;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -27,12 +28,18 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.auth.Role;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.config.core.Configuration;
+import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.io.rest.RESTConstants;
 import org.openhab.io.metrics.exporters.InfluxMetricsExporter;
 import org.openhab.io.metrics.exporters.JmxMetricsExporter;
+import org.openhab.io.metrics.instrumentation.SchedulerDelayProbe;
+import org.openhab.io.metrics.instrumentation.ThingEventInstrumentation;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
@@ -73,6 +80,10 @@ public class MetricsRestController {
             PrometheusConfig.DEFAULT);
     private final Set<MetricsExporter> metricsExporters = new HashSet<>();
     private @Nullable MetricsConfiguration config;
+    private @Nullable BundleContext bundleContext;
+    private @Nullable ThingEventInstrumentation thingEventInstrumentation;
+    private @Nullable ServiceRegistration<?> thingEventInstrumentationRegistration;
+    private final Map<String, SchedulerDelayProbe> schedulerDelayProbes = new HashMap<>();
 
     @GET
     @Path("/prometheus")
@@ -93,18 +104,28 @@ public class MetricsRestController {
         meterRegistry.add(prometheusMeterRegistry);
         this.meterRegistry = meterRegistry;
         logger.debug("Core metrics registry retrieved and Prometheus registry added successfully.");
+        // meters of the instrumentation have to be registered in the new registry
+        stopInstrumentation();
         updateMeterRegistry();
+        updateInstrumentation();
     }
 
     @Activate
-    protected void activate(Map<@Nullable String, @Nullable Object> configuration) {
+    protected void activate(BundleContext bundleContext, Map<@Nullable String, @Nullable Object> configuration) {
         logger.info("Metrics service activated, serving the following URL(s): /rest/metrics/prometheus");
+        this.bundleContext = bundleContext;
         metricsExporters.add(new InfluxMetricsExporter());
         metricsExporters.add(new JmxMetricsExporter());
         updateConfig(configuration);
         updateMeterRegistry();
     }
 
+    @Deactivate
+    protected synchronized void deactivate() {
+        stopInstrumentation();
+        this.bundleContext = null;
+    }
+
     @Modified
     protected synchronized void modified(Map<@Nullable String, @Nullable Object> configuration) {
         updateConfig(configuration);
@@ -114,9 +135,71 @@ public class MetricsRestController {
         this.config = new Configuration(configuration).as(MetricsConfiguration.class);
         logger.debug("Configuration: {}", this.config);
         this.metricsExporters.forEach(e -> e.updateExporterState(config));
+        updateInstrumentation();
     }
 
     private void updateMeterRegistry() {
         this.metricsExporters.forEach(e -> e.setMeterRegistry(meterRegistry));
     }
+
+    private synchronized void updateInstrumentation() {
+        MetricsConfiguration config = this.config;
+        CompositeMeterRegistry meterRegistry = this.meterRegistry;
+        BundleContext bundleContext = this.bundleContext;
+        if (config == null || !config.instrumentationEnabled || meterRegistry == null || bundleContext == null) {
+            stopInstrumentation();
+            return;
+        }
+        if (thingEventInstrumentation == null) {
+            logger.debug("Starting instrumentation of things.");
+            ThingEventInstrumentation thingEventInstrumentation = new ThingEventInstrumentation(meterRegistry);
+            thingEventInstrumentationRegistration = bundleContext.registerService(EventSubscriber.class,
+                    thingEventInstrumentation, null);
+            this.thingEventInstrumentation = thingEventInstrumentation;
+        }
+        updateSchedulerDelayProbes(config, meterRegistry);
+    }
+
+    /**
+     * Starts and stops probes, so that exactly the configured thread pools are measured.
+     * The ThreadPoolManager creates a pool for an unknown name, so a misspelled name measures a new, idle pool.
+     */
+    private void updateSchedulerDelayProbes(MetricsConfiguration config, CompositeMeterRegistry meterRegistry) {
+        Set<String> poolNames = new HashSet<>();
+        for (String poolName : config.instrumentedSchedulers.split(",")) {
+            if (!poolName.isBlank()) {
+                poolNames.add(poolName.trim());
+            }
+        }
+        schedulerDelayProbes.entrySet().removeIf(entry -> {
+            if (poolNames.contains(entry.getKey())) {
+                return false;
+            }
+            logger.debug("Stopping instrumentation of thread pool '{}'.", entry.getKey());
+            entry.getValue().dispose();
+            return true;
+        });
+        for (String poolName : poolNames) {
+            if (!schedulerDelayProbes.containsKey(poolName)) {
+                logger.debug("Starting instrumentation of thread pool '{}'.", poolName);
+                schedulerDelayProbes.put(poolName, new SchedulerDelayProbe(meterRegistry, poolName));
+            }
+        }
+    }
+
+    private synchronized void stopInstrumentation() {
+        ServiceRegistration<?> registration = thingEventInstrumentationRegistration;
+        if (registration != null) {
+            registration.unregister();
+            thingEventInstrumentationRegistration = null;
+        }
+        ThingEventInstrumentation thingEventInstrumentation = this.thingEventInstrumentation;
+        if (thingEventInstrumentation != null) {
+            logger.debug("Stopping instrumentation of things and thread pools.");
+            thingEventInstrumentation.dispose();
+            this.thingEventInstrumentation = null;
+        }
+        schedulerDelayProbes.values().forEach(SchedulerDelayProbe::dispose);
+        schedulerDelayProbes.clear();
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.instrumentation;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link SchedulerDelayProbe} measures how late tasks start on a shared scheduled thread pool.
+ *
+ * A probe task is scheduled at a fixed rate and records the delay between its planned and its actual start. A
+ * growing delay means that the threads of the pool are blocked by long running tasks of other add-ons.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class SchedulerDelayProbe {
+    private static final String METRIC_SCHEDULER_DELAY = "openhab.pool.scheduler.delay";
+    private static final String TAG_POOL = "pool";
+    private static final long PERIOD_MILLIS = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer delayTimer;
+    private @Nullable ScheduledFuture<?> probeJob;
+    private long plannedStart;
+
+    public SchedulerDelayProbe(MeterRegistry meterRegistry, String poolName) {
+        this.meterRegistry = meterRegistry;
+        this.delayTimer = Timer.builder(METRIC_SCHEDULER_DELAY)
+                .description("Delay between the planned and the actual start of scheduled tasks")
+                .tags(TAG_POOL, poolName).publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram()
+                .register(meterRegistry);
+
+        ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(poolName);
+        plannedStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS);
+        probeJob = scheduler.scheduleAtFixedRate(this::probe, PERIOD_MILLIS, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void probe() {
+        long now = System.nanoTime();
+        delayTimer.record(Math.max(0, now - plannedStart), TimeUnit.NANOSECONDS);
+        // runs of a fixed rate task never overlap, missed runs are executed in a burst
+        plannedStart += TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS);
+    }
+
+    /**
+     * Stops the probe and removes its meter.
+     */
+    public void dispose() {
+        ScheduledFuture<?> probeJob = this.probeJob;
+        if (probeJob != null) {
+            probeJob.cancel(false);
+            this.probeJob = null;
+        }
+        meterRegistry.remove(delayTimer);
+    }
+}
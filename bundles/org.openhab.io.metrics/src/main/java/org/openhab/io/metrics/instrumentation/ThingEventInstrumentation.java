@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.openhab.core.thing.ChannelUID;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link ThingEventInstrumentation} derives per binding and per thing metrics from item events.
+ *
+ * State updates are attributed to a thing by the channel UID the binding reports as event source. The command
+ * latency is the time between a command sent to an item and the next state update of the item reported by a channel,
+ * i.e. the time the binding needs to handle the command and confirm the new state.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class ThingEventInstrumentation implements EventSubscriber {
+    private static final String METRIC_STATE_UPDATES = "openhab.thing.state.updates";
+    private static final String METRIC_COMMAND_LATENCY = "openhab.thing.command.latency";
+    private static final String TAG_BINDING = "binding";
+    private static final String TAG_THING = "thing";
+    private static final long MAX_COMMAND_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> pendingCommands = new ConcurrentHashMap<>();
+    private final Map<String, Counter> stateUpdateCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> commandLatencyTimers = new ConcurrentHashMap<>();
+
+    public ThingEventInstrumentation(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(ItemStateEvent.TYPE, ItemCommandEvent.TYPE);
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemCommandEvent) {
+            pendingCommands.put(((ItemCommandEvent) event).getItemName(), System.nanoTime());
+        } else if (event instanceof ItemStateEvent) {
+            ChannelUID channelUID = toChannelUID(event.getSource());
+            if (channelUID == null) {
+                return;
+            }
+            String thingUID = channelUID.getThingUID().getAsString();
+            stateUpdateCounters.computeIfAbsent(thingUID, uid -> Counter.builder(METRIC_STATE_UPDATES)
+                    .description("State updates reported by the channels of a thing")
+                    .tags(tags(channelUID)).register(meterRegistry)).increment();
+
+            Long commandTime = pendingCommands.remove(((ItemStateEvent) event).getItemName());
+            if (commandTime != null) {
+                long latency = System.nanoTime() - commandTime;
+                if (latency <= MAX_COMMAND_LATENCY_NANOS) {
+                    commandLatencyTimers.computeIfAbsent(thingUID, uid -> Timer.builder(METRIC_COMMAND_LATENCY)
+                            .description("Time from a command to the state update of the handling thing")
+                            .tags(tags(channelUID)).publishPercentiles(0.5, 0.95, 0.99)
+                            .publishPercentileHistogram().register(meterRegistry))
+                            .record(latency, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private Tags tags(ChannelUID channelUID) {
+        return Tags.of(TAG_BINDING, channelUID.getBindingId(), TAG_THING, channelUID.getThingUID().getAsString());
+    }
+
+    private static @Nullable ChannelUID toChannelUID(@Nullable String source) {
+        if (source == null || source.indexOf(':') < 0) {
+            return null;
+        }
+        try {
+            return new ChannelUID(source);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes all meters registered by this instance.
+     */
+    public void dispose() {
+        List<Meter> meters = new ArrayList<>(stateUpdateCounters.values());
+        meters.addAll(commandLatencyTimers.values());
+        meters.forEach(meterRegistry::remove);
+        stateUpdateCounters.clear();
+        commandLatencyTimers.clear();
+        pendingCommands.clear();
+    }
+}
@@ -12,21 +12,29 @@
  */
 package org.openhab.persistence.influxdb;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
@@ -40,10 +48,12 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
 import org.openhab.persistence.influxdb.internal.ItemToStorePointCreator;
 import org.openhab.persistence.influxdb.internal.RepositoryFactory;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -84,6 +94,9 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
 
     protected static final String CONFIG_URI = "persistence:influxdb";
 
+    // Shorter windows hardly reduce the number of values for typical sampling rates
+    private static final Duration MIN_AGGREGATION_WINDOW = Duration.ofSeconds(1);
+
     // External dependencies
     private final ItemRegistry itemRegistry;
     private final MetadataRegistry metadataRegistry;
@@ -95,6 +108,40 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     private @NonNullByDefault({}) ItemToStorePointCreator itemToStorePointCreator;
     private @NonNullByDefault({}) InfluxDBRepository influxDBRepository;
 
+    // Invalidate cached item conversion information when an item or its metadata changes
+    private final RegistryChangeListener<Item> itemChangeListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Item element) {
+            invalidateItemPointInfo(element.getName());
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidateItemPointInfo(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidateItemPointInfo(element.getName());
+        }
+    };
+    private final RegistryChangeListener<Metadata> metadataChangeListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Metadata element) {
+            invalidateItemPointInfo(element.getUID());
+        }
+
+        @Override
+        public void removed(Metadata element) {
+            invalidateItemPointInfo(element.getUID());
+        }
+
+        @Override
+        public void updated(Metadata oldElement, Metadata element) {
+            invalidateItemPointInfo(element.getUID());
+        }
+    };
+
     @Activate
     public InfluxDBPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference MetadataRegistry metadataRegistry) {
@@ -102,6 +149,19 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
         this.metadataRegistry = metadataRegistry;
     }
 
+    private void invalidateItemPointInfo(MetadataKey key) {
+        if (SERVICE_NAME.equals(key.getNamespace())) {
+            invalidateItemPointInfo(key.getItemName());
+        }
+    }
+
+    private void invalidateItemPointInfo(String itemName) {
+        final ItemToStorePointCreator currentItemToStorePointCreator = itemToStorePointCreator;
+        if (currentItemToStorePointCreator != null) {
+            currentItemToStorePointCreator.invalidate(itemName);
+        }
+    }
+
     /**
      * Connect to database when service is activated
      */
@@ -111,6 +171,8 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
 
         if (loadConfiguration(config)) {
             itemToStorePointCreator = new ItemToStorePointCreator(configuration, metadataRegistry);
+            itemRegistry.addRegistryChangeListener(itemChangeListener);
+            metadataRegistry.addRegistryChangeListener(metadataChangeListener);
             influxDBRepository = createInfluxDBRepository();
             influxDBRepository.connect();
         } else {
@@ -131,6 +193,8 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("InfluxDB persistence service deactivated");
+        itemRegistry.removeRegistryChangeListener(itemChangeListener);
+        metadataRegistry.removeRegistryChangeListener(metadataChangeListener);
         if (influxDBRepository != null) {
             influxDBRepository.disconnect();
             influxDBRepository = null;
@@ -195,6 +259,16 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    /**
+     * Returns the counters of written points
+     *
+     * @return Write statistics or null if the service is not active
+     */
+    public @Nullable InfluxDBWriteStatistics getWriteStatistics() {
+        final InfluxDBRepository repository = influxDBRepository;
+        return repository != null ? repository.getWriteStatistics() : null;
+    }
+
     @Override
     public void store(Item item) {
         store(item, item.getName());
@@ -226,16 +300,72 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
                     filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber());
 
             String query = RepositoryFactory.createQueryCreator(configuration, metadataRegistry).createQuery(filter,
-                    configuration.getRetentionPolicy());
+                    configuration.getRetentionPolicy(), calculateAggregationWindow(filter));
             logger.trace("Query {}", query);
-            List<InfluxRow> results = influxDBRepository.query(query);
-            return results.stream().map(this::mapRow2HistoricItem).collect(Collectors.toList());
+            // rows are converted while the caller iterates, so at most one chunk of the response is held in memory;
+            // a failed query throws from hasNext() instead of returning a partial history
+            StreamingQueryResult rows = influxDBRepository.query(query);
+            AtomicBoolean iterated = new AtomicBoolean();
+            return () -> {
+                if (iterated.getAndSet(true)) {
+                    throw new IllegalStateException("The query result can only be iterated once");
+                }
+                return new Iterator<HistoricItem>() {
+                    @Override
+                    public boolean hasNext() {
+                        return rows.hasNext();
+                    }
+
+                    @Override
+                    public HistoricItem next() {
+                        try {
+                            return mapRow2HistoricItem(rows.next());
+                        } catch (RuntimeException e) {
+                            rows.close();
+                            throw e;
+                        }
+                    }
+                };
+            };
         } else {
             logger.debug("query ignored, InfluxDB is not yet connected");
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Calculates the aggregation window so that a query returns about
+     * {@link InfluxDBConfiguration#getQueryTargetPoints()} values. Only bounded, unpaged queries of numeric items
+     * without a value condition are aggregated. Chart queries can't be told apart from the queries of persistence
+     * extensions, so these are aggregated as well, which is documented for the configuration parameter.
+     *
+     * @return the aggregation window or null if the raw values have to be queried
+     */
+    private @Nullable Duration calculateAggregationWindow(FilterCriteria filter) {
+        int targetPoints = configuration.getQueryTargetPoints();
+        String itemName = filter.getItemName();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (targetPoints <= 0 || itemName == null || beginDate == null || endDate == null
+                || filter.getState() != null || filter.getPageSize() != Integer.MAX_VALUE
+                || !isNumberItem(itemRegistry.get(itemName))) {
+            return null;
+        }
+        Duration window = Duration.between(beginDate, endDate).dividedBy(targetPoints);
+        if (window.compareTo(MIN_AGGREGATION_WINDOW) < 0) {
+            return null;
+        }
+        logger.trace("Aggregating values of item {} in windows of {}", itemName, window);
+        return Duration.ofSeconds(window.toSeconds());
+    }
+
+    private boolean isNumberItem(@Nullable Item item) {
+        if (item instanceof GroupItem) {
+            return ((GroupItem) item).getBaseItem() instanceof NumberItem;
+        }
+        return item instanceof NumberItem;
+    }
+
     private HistoricItem mapRow2HistoricItem(InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.getValue(), row.getItemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.getItemName(), state,
@@ -40,6 +40,12 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUERY_TARGET_POINTS_PARAM = "queryTargetPoints";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String FLUSH_INTERVAL_PARAM = "flushInterval";
+    public static final String JITTER_INTERVAL_PARAM = "jitterInterval";
+    public static final String BUFFER_LIMIT_PARAM = "bufferLimit";
+    public static final String RETRY_INTERVAL_PARAM = "retryInterval";
     public static InfluxDBConfiguration NO_CONFIGURATION = new InfluxDBConfiguration(Collections.emptyMap());
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
@@ -54,6 +60,12 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queryTargetPoints;
+    private final int batchSize;
+    private final int flushInterval;
+    private final int jitterInterval;
+    private final int bufferLimit;
+    private final int retryInterval;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = (String) config.getOrDefault(URL_PARAM, "http://127.0.0.1:8086");
@@ -68,6 +80,16 @@ public class InfluxDBConfiguration {
         addCategoryTag = getConfigBooleanValue(config, ADD_CATEGORY_TAG_PARAM, false);
         addLabelTag = getConfigBooleanValue(config, ADD_LABEL_TAG_PARAM, false);
         addTypeTag = getConfigBooleanValue(config, ADD_TYPE_TAG_PARAM, false);
+
+        queryTargetPoints = getConfigIntValue(config, QUERY_TARGET_POINTS_PARAM, 0);
+
+        // the defaults are the batch options used before they were configurable, which differ between the clients
+        boolean v1 = version == InfluxDBVersion.V1;
+        batchSize = Math.max(1, getConfigIntValue(config, BATCH_SIZE_PARAM, v1 ? 200 : 1000));
+        flushInterval = Math.max(1, getConfigIntValue(config, FLUSH_INTERVAL_PARAM, v1 ? 100 : 1000));
+        jitterInterval = Math.max(0, getConfigIntValue(config, JITTER_INTERVAL_PARAM, 0));
+        bufferLimit = Math.max(batchSize, getConfigIntValue(config, BUFFER_LIMIT_PARAM, 10000));
+        retryInterval = Math.max(1, getConfigIntValue(config, RETRY_INTERVAL_PARAM, 5000));
     }
 
     private static boolean getConfigBooleanValue(Map<String, Object> config, String key, boolean defaultValue) {
@@ -81,6 +103,20 @@ public class InfluxDBConfiguration {
         }
     }
 
+    private int getConfigIntValue(Map<String, Object> config, String key, int defaultValue) {
+        Object object = config.get(key);
+        if (object instanceof Number) {
+            return ((Number) object).intValue();
+        } else if (object instanceof String) {
+            try {
+                return Integer.parseInt(((String) object).trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value {} for {}, using default {}", object, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
         try {
             return Optional.ofNullable(value).map(InfluxDBVersion::valueOf).orElse(InfluxDBVersion.UNKNOWN);
@@ -157,6 +193,30 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public int getQueryTargetPoints() {
+        return queryTargetPoints;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getJitterInterval() {
+        return jitterInterval;
+    }
+
+    public int getBufferLimit() {
+        return bufferLimit;
+    }
+
+    public int getRetryInterval() {
+        return retryInterval;
+    }
+
     public String getUser() {
         return user;
     }
@@ -175,7 +235,10 @@ public class InfluxDBConfiguration {
                 + password.length() + " chars" + '\'' + ", token='" + token.length() + " chars" + '\''
                 + ", databaseName='" + databaseName + '\'' + ", retentionPolicy='" + retentionPolicy + '\''
                 + ", version=" + version + ", replaceUnderscore=" + replaceUnderscore + ", addCategoryTag="
-                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag + '}';
+                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag
+                + ", queryTargetPoints=" + queryTargetPoints + ", batchSize=" + batchSize + ", flushInterval="
+                + flushInterval + ", jitterInterval=" + jitterInterval + ", bufferLimit=" + bufferLimit
+                + ", retryInterval=" + retryInterval + '}';
         return sb;
     }
 
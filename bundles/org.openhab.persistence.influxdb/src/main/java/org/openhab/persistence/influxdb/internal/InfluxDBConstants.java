@@ -33,4 +33,9 @@ public class InfluxDBConstants {
     public static final String TAG_TYPE_NAME = "type";
     public static final String TAG_LABEL_NAME = "label";
     public static final String FIELD_MEASUREMENT_NAME = "_measurement";
+
+    // Number of rows buffered while streaming query results
+    public static final int QUERY_CHUNK_SIZE = 1000;
+    // Time to wait for the next row from the server or for the consumer to read a buffered row
+    public static final long QUERY_TIMEOUT_MILLIS = 60000;
 }
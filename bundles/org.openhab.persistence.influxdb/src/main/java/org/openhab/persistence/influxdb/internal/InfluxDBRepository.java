@@ -12,7 +12,6 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -58,12 +57,14 @@ public interface InfluxDBRepository {
     Map<String, Integer> getStoredItemsCount();
 
     /**
-     * Executes Flux query
+     * Executes query streaming the results. The query is executed asynchronously and the rows are buffered
+     * up to {@link InfluxDBConstants#QUERY_CHUNK_SIZE} until they are read from the returned result, which
+     * has to be closed if it is not read to the end.
      *
      * @param query Query
      * @return Query results
      */
-    List<InfluxRow> query(String query);
+    StreamingQueryResult query(String query);
 
     /**
      * Write point to database
@@ -71,4 +72,11 @@ public interface InfluxDBRepository {
      * @param influxPoint Point to write
      */
     void write(InfluxPoint influxPoint);
+
+    /**
+     * Returns the counters of written points
+     *
+     * @return Write statistics
+     */
+    InfluxDBWriteStatistics getWriteStatistics();
 }
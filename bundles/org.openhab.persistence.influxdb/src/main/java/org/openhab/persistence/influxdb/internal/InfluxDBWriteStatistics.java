@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters of the points written by a {@link InfluxDBRepository}.
+ *
+ * Points are handed over to the batching of the client library, so they are only stored after the next flush.
+ * The stored count and the write latency are only known if the client reports successful writes.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteStatistics {
+    private final boolean storedPointsReported;
+    private final AtomicLong writtenPoints = new AtomicLong();
+    private final AtomicLong storedPoints = new AtomicLong();
+    private final AtomicLong droppedPoints = new AtomicLong();
+    private final AtomicLong droppedBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile long writeLatency = -1;
+
+    /**
+     * @param storedPointsReported True if the client reports successful writes
+     */
+    public InfluxDBWriteStatistics(boolean storedPointsReported) {
+        this.storedPointsReported = storedPointsReported;
+    }
+
+    public void pointWritten() {
+        writtenPoints.incrementAndGet();
+    }
+
+    /**
+     * @param count Number of stored points
+     * @param latency Time in milliseconds between writing the newest of the points and storing it
+     */
+    public void pointsStored(long count, long latency) {
+        storedPoints.addAndGet(count);
+        writeLatency = latency;
+    }
+
+    public void pointsDropped(long count) {
+        droppedPoints.addAndGet(count);
+    }
+
+    /**
+     * Counts a dropped batch whose number of points is not known
+     */
+    public void batchDropped() {
+        droppedBatches.incrementAndGet();
+    }
+
+    public void batchFailed() {
+        failedBatches.incrementAndGet();
+    }
+
+    public long getWrittenPoints() {
+        return writtenPoints.get();
+    }
+
+    public long getStoredPoints() {
+        return storedPoints.get();
+    }
+
+    public long getDroppedPoints() {
+        return droppedPoints.get();
+    }
+
+    public long getDroppedBatches() {
+        return droppedBatches.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Points of batches that failed without being reported as dropped and of dropped batches remain included.
+     *
+     * @return Number of points written but neither stored nor dropped yet or -1 if unknown
+     */
+    public long getQueueDepth() {
+        if (!storedPointsReported) {
+            return -1;
+        }
+        return Math.max(0, writtenPoints.get() - storedPoints.get() - droppedPoints.get());
+    }
+
+    /**
+     * @return Latency in milliseconds of the last stored batch or -1 if unknown
+     */
+    public long getWriteLatency() {
+        return writeLatency;
+    }
+}
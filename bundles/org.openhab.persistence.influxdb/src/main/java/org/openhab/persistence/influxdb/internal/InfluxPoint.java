@@ -84,6 +84,11 @@ public class InfluxPoint {
             return this;
         }
 
+        public Builder withTags(Map<String, String> values) {
+            tags.putAll(values);
+            return this;
+        }
+
         public InfluxPoint build() {
             return new InfluxPoint(this);
         }
@@ -15,7 +15,11 @@ package org.openhab.persistence.influxdb.internal;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,12 +34,16 @@ import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
 /**
  * Logic to create an InfluxDB {@link InfluxPoint} from an openHAB {@link Item}
  *
+ * The measurement name, tags and state conversion of an item are resolved once and cached. The cache has to be
+ * invalidated with {@link #invalidate(String)} when the item or its metadata changes.
+ *
  * @author Joan Pujol Espinar - Initial contribution
  */
 @NonNullByDefault
 public class ItemToStorePointCreator {
     private final InfluxDBConfiguration configuration;
     private final @Nullable MetadataRegistry metadataRegistry;
+    private final Map<String, ItemPointInfo> itemPointInfos = new ConcurrentHashMap<>();
 
     public ItemToStorePointCreator(InfluxDBConfiguration configuration, @Nullable MetadataRegistry metadataRegistry) {
         this.configuration = configuration;
@@ -47,18 +55,38 @@ public class ItemToStorePointCreator {
             return null;
         }
 
-        String measurementName = calculateMeasurementName(item, storeAlias);
-        String itemName = item.getName();
-        State state = getItemState(item);
+        ItemPointInfo itemPointInfo = itemPointInfos.get(item.getName());
+        if (itemPointInfo == null || !Objects.equals(itemPointInfo.storeAlias, storeAlias)) {
+            // created while the entry is locked, a concurrent invalidation removes it afterwards instead of being
+            // overwritten by information resolved from the previous metadata
+            itemPointInfo = Objects.requireNonNull(itemPointInfos.compute(item.getName(),
+                    (name, info) -> info != null && Objects.equals(info.storeAlias, storeAlias) ? info
+                            : createItemPointInfo(item, storeAlias)));
+        }
+
+        State state = getItemState(item, itemPointInfo.desiredConversion);
 
         Object value = InfluxDBStateConvertUtils.stateToObject(state);
 
-        InfluxPoint.Builder point = InfluxPoint.newBuilder(measurementName).withTime(Instant.now()).withValue(value)
-                .withTag(TAG_ITEM_NAME, itemName);
+        return InfluxPoint.newBuilder(itemPointInfo.measurementName).withTime(Instant.now()).withValue(value)
+                .withTags(itemPointInfo.tags).build();
+    }
 
-        addPointTags(item, point);
+    /**
+     * Removes the cached information of an item, it's resolved again on the next conversion
+     *
+     * @param itemName Name of the changed item
+     */
+    public void invalidate(String itemName) {
+        itemPointInfos.remove(itemName);
+    }
 
-        return point.build();
+    private ItemPointInfo createItemPointInfo(Item item, @Nullable String storeAlias) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_ITEM_NAME, item.getName());
+        addPointTags(item, tags);
+        return new ItemPointInfo(storeAlias, calculateMeasurementName(item, storeAlias), Map.copyOf(tags),
+                calculateDesiredTypeConversionToStore(item).orElse(null));
     }
 
     private String calculateMeasurementName(Item item, @Nullable String storeAlias) {
@@ -74,11 +102,10 @@ public class ItemToStorePointCreator {
         return name;
     }
 
-    private State getItemState(Item item) {
+    private State getItemState(Item item, @Nullable Class<? extends State> desiredConversion) {
         final State state;
-        final Optional<Class<? extends State>> desiredConversion = calculateDesiredTypeConversionToStore(item);
-        if (desiredConversion.isPresent()) {
-            State convertedState = item.getStateAs(desiredConversion.get());
+        if (desiredConversion != null) {
+            State convertedState = item.getStateAs(desiredConversion);
             if (convertedState != null) {
                 state = convertedState;
             } else {
@@ -95,17 +122,17 @@ public class ItemToStorePointCreator {
                 .findFirst().map(commandType -> commandType.asSubclass(State.class));
     }
 
-    private void addPointTags(Item item, InfluxPoint.Builder point) {
+    private void addPointTags(Item item, Map<String, String> tags) {
         if (configuration.isAddCategoryTag()) {
             String categoryName = item.getCategory();
             if (categoryName == null) {
                 categoryName = "n/a";
             }
-            point.withTag(TAG_CATEGORY_NAME, categoryName);
+            tags.put(TAG_CATEGORY_NAME, categoryName);
         }
 
         if (configuration.isAddTypeTag()) {
-            point.withTag(TAG_TYPE_NAME, item.getType());
+            tags.put(TAG_TYPE_NAME, item.getType());
         }
 
         if (configuration.isAddLabelTag()) {
@@ -113,7 +140,7 @@ public class ItemToStorePointCreator {
             if (labelName == null) {
                 labelName = "n/a";
             }
-            point.withTag(TAG_LABEL_NAME, labelName);
+            tags.put(TAG_LABEL_NAME, labelName);
         }
 
         final MetadataRegistry currentMetadataRegistry = metadataRegistry;
@@ -122,9 +149,24 @@ public class ItemToStorePointCreator {
             Metadata metadata = currentMetadataRegistry.get(key);
             if (metadata != null) {
                 metadata.getConfiguration().forEach((tagName, tagValue) -> {
-                    point.withTag(tagName, tagValue.toString());
+                    tags.put(tagName, tagValue.toString());
                 });
             }
         }
     }
+
+    private static class ItemPointInfo {
+        private final @Nullable String storeAlias;
+        private final String measurementName;
+        private final Map<String, String> tags;
+        private final @Nullable Class<? extends State> desiredConversion;
+
+        private ItemPointInfo(@Nullable String storeAlias, String measurementName, Map<String, String> tags,
+                @Nullable Class<? extends State> desiredConversion) {
+            this.storeAlias = storeAlias;
+            this.measurementName = measurementName;
+            this.tags = tags;
+            this.desiredConversion = desiredConversion;
+        }
+    }
 }
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands over rows of an asynchronous query from the client callback thread to the consumer.
+ *
+ * The rows are buffered in a bounded queue, so the client is throttled to the speed of the consumer
+ * and at most {@code capacity} rows are held in memory. A consumer that stops reading early has to
+ * {@link #close()} the result, so the producer is released and the query can be cancelled.
+ *
+ * A failed query, a producer that does not deliver rows within the timeout and a query that was cancelled because
+ * the consumer did not read within the timeout are reported by an {@link IllegalStateException} from
+ * {@link #hasNext()}, so a partial result can't be mistaken for a complete one. A consumer that abandons the result
+ * without closing it therefore only blocks the producer until the timeout.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResult implements Iterator<InfluxRow>, AutoCloseable {
+    private static final Object END_OF_RESULT = new Object();
+
+    private final Logger logger = LoggerFactory.getLogger(StreamingQueryResult.class);
+
+    private final BlockingQueue<Object> queue;
+    private final long timeoutMillis;
+    private volatile boolean closed = false;
+    private volatile boolean cancelled = false;
+    private @Nullable Object next;
+
+    public StreamingQueryResult(int capacity, long timeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Adds a row, waiting for the consumer if the buffer is full
+     *
+     * @param row Row to add
+     * @return False if the consumer is gone and the query should be cancelled
+     */
+    public boolean offer(InfluxRow row) {
+        if (!closed && !cancelled && put(row)) {
+            return true;
+        }
+        if (!closed && !cancelled) {
+            logger.warn("Query result not consumed within {} ms, cancelling query", timeoutMillis);
+            cancelled = true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks the end of the result
+     */
+    public void complete() {
+        if (!cancelled) {
+            put(END_OF_RESULT);
+        }
+    }
+
+    /**
+     * Marks the end of the result due to a failed query
+     *
+     * @param error Query error
+     */
+    public void fail(Throwable error) {
+        if (!cancelled) {
+            put(error);
+        }
+    }
+
+    private boolean put(Object element) {
+        try {
+            return queue.offer(element, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return A result without rows, e.g. if there is no connection to query
+     */
+    public static StreamingQueryResult empty() {
+        StreamingQueryResult result = new StreamingQueryResult(1, 0);
+        result.complete();
+        return result;
+    }
+
+    /**
+     * Stops reading the result, a producer waiting for buffer space is released
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    /**
+     * @throws IllegalStateException if the query failed or no row was received within the timeout
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed) {
+            Object element;
+            try {
+                // the rows buffered before a cancellation are still returned, but no more rows will arrive
+                element = cancelled ? queue.poll() : queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting for query result", e);
+            }
+            if (element == null && cancelled) {
+                close();
+                throw new IllegalStateException("Query cancelled, result not consumed within " + timeoutMillis + " ms");
+            } else if (element == null) {
+                close();
+                throw new IllegalStateException("No query result received within " + timeoutMillis + " ms");
+            } else if (element == END_OF_RESULT) {
+                close();
+            } else if (element instanceof Throwable) {
+                close();
+                Throwable error = (Throwable) element;
+                throw new IllegalStateException("Query failed: " + error.getMessage(), error);
+            } else {
+                next = element;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public InfluxRow next() {
+        Object element = hasNext() ? next : null;
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        return (InfluxRow) element;
+    }
+}
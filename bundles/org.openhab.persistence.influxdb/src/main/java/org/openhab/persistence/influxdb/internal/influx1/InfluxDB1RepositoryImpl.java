@@ -15,6 +15,8 @@ package org.openhab.persistence.influxdb.internal.influx1;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_TIME_NAME_V1;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_VALUE_NAME_V1;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.QUERY_CHUNK_SIZE;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.QUERY_TIMEOUT_MILLIS;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
 import java.time.Instant;
@@ -28,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.influxdb.BatchOptions;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
 import org.influxdb.dto.Point;
@@ -36,8 +39,10 @@ import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +61,8 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     private InfluxDBConfiguration configuration;
     @Nullable
     private InfluxDB client;
+    // the 1.X client doesn't report successful writes
+    private final InfluxDBWriteStatistics statistics = new InfluxDBWriteStatistics(false);
 
     public InfluxDB1RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
@@ -72,13 +79,23 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 configuration.getPassword());
         createdClient.setDatabase(configuration.getDatabaseName());
         createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-        createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
+        createdClient.enableBatch(BatchOptions.DEFAULTS.actions(configuration.getBatchSize())
+                .flushDuration(configuration.getFlushInterval()).jitterDuration(configuration.getJitterInterval())
+                .bufferLimit(configuration.getBufferLimit()).exceptionHandler((points, throwable) -> {
+                    statistics.batchFailed();
+                    logger.warn("Writing points failed: {}", throwable.getMessage());
+                }).droppedActionHandler(point -> statistics.pointsDropped(1)));
         this.client = createdClient;
         return checkConnectionStatus();
     }
 
     @Override
     public void disconnect() {
+        final InfluxDB currentClient = client;
+        if (currentClient != null) {
+            // flushes the pending batch
+            currentClient.close();
+        }
         this.client = null;
     }
 
@@ -120,6 +137,7 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         if (currentClient != null) {
             Point clientPoint = convertPointToClientFormat(point);
             currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(), clientPoint);
+            statistics.pointWritten();
         } else {
             logger.warn("Write point {} ignored due to client isn't connected", point);
         }
@@ -148,15 +166,34 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(String query) {
+    public StreamingQueryResult query(String query) {
         final InfluxDB currentClient = client;
         if (currentClient != null) {
             Query parsedQuery = new Query(query, configuration.getDatabaseName());
-            List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-            return convertClientResutToRepository(results);
+            StreamingQueryResult result = new StreamingQueryResult(QUERY_CHUNK_SIZE, QUERY_TIMEOUT_MILLIS);
+            currentClient.query(parsedQuery, QUERY_CHUNK_SIZE, (cancellable, queryResult) -> {
+                List<QueryResult.Result> results = queryResult.getResults();
+                String error = queryResult.getError();
+                if (error == null && results != null) {
+                    error = results.stream().map(QueryResult.Result::getError).filter(Objects::nonNull).findFirst()
+                            .orElse(null);
+                }
+                if (error != null) {
+                    result.fail(new IllegalStateException(error));
+                    cancellable.cancel();
+                } else if (results != null) {
+                    for (InfluxRow row : convertClientResutToRepository(results)) {
+                        if (!result.offer(row)) {
+                            cancellable.cancel();
+                            break;
+                        }
+                    }
+                }
+            }, result::complete, result::fail);
+            return result;
         } else {
-            logger.warn("Returning empty list because queryAPI isn't present");
-            return Collections.emptyList();
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return StreamingQueryResult.empty();
         }
     }
 
@@ -197,13 +234,17 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (int i = 0; i < valuess.size(); i++) {
-                                Double rawTime = (Double) Objects.requireNonNull(valuess.get(i).get(timestampColumn));
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Object rawTime = Objects.requireNonNull(valuess.get(i).get(timestampColumn));
+                                // chunked queries can't request epoch timestamps, so they return RFC3339 strings
+                                Instant time = rawTime instanceof String ? Instant.parse((String) rawTime)
+                                        : Instant.ofEpochMilli(((Number) rawTime).longValue());
                                 @Nullable
                                 Object value = valuess.get(i).get(valueColumn);
                                 var currentI = i;
                                 String itemName = Optional.ofNullable(itemNameColumn)
                                         .flatMap(inc -> Optional.ofNullable((String) valuess.get(currentI).get(inc)))
+                                        .or(() -> Optional.ofNullable(series.getTags())
+                                                .map(tags -> tags.get(TAG_ITEM_NAME)))
                                         .orElse(series.getName());
                                 logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
                                 rows.add(new InfluxRow(time, itemName, value));
@@ -216,6 +257,11 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         return rows;
     }
 
+    @Override
+    public InfluxDBWriteStatistics getWriteStatistics() {
+        return statistics;
+    }
+
     @Override
     public Map<String, Integer> getStoredItemsCount() {
         return Collections.emptyMap();
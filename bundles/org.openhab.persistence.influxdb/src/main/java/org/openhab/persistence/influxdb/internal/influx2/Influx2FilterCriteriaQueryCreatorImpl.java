@@ -17,9 +17,11 @@ import static com.influxdb.query.dsl.functions.restriction.Restrictions.tag;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
@@ -49,7 +51,8 @@ public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
     }
 
     @Override
-    public String createQuery(FilterCriteria criteria, String retentionPolicy) {
+    public String createQuery(FilterCriteria criteria, String retentionPolicy,
+            @Nullable Duration aggregationWindow) {
         Flux flux = Flux.from(retentionPolicy);
 
         RangeFlux range = flux.range();
@@ -73,6 +76,12 @@ public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
                 flux = flux.filter(tag(TAG_ITEM_NAME).equal(itemName));
             }
 
+            if (aggregationWindow != null) {
+                // aggregateWindow needs the _start/_stop columns, so it has to be applied before keep
+                flux = flux.expression("aggregateWindow(every: " + aggregationWindow.toSeconds()
+                        + "s, fn: mean, createEmpty: false, timeSrc: \"_start\")");
+            }
+
             if (needsToUseItemTagName)
                 flux = flux.keep(new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2,
                         TAG_ITEM_NAME });
@@ -19,16 +19,16 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,11 +38,18 @@ import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
 import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.client.write.events.WriteErrorEvent;
+import com.influxdb.client.write.events.WriteSuccessEvent;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
+import io.reactivex.BackpressureOverflowStrategy;
+
 /**
  * Implementation of {@link InfluxDBRepository} for InfluxDB 2.0
  *
@@ -58,6 +65,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     private QueryApi queryAPI;
     @Nullable
     private WriteApi writeAPI;
+    private final InfluxDBWriteStatistics statistics = new InfluxDBWriteStatistics(true);
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
@@ -94,7 +102,22 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         this.client = createdClient;
         logger.debug("Succesfully connected to InfluxDB. Instance ready={}", createdClient.ready());
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.getWriteApi();
+        WriteOptions writeOptions = WriteOptions.builder().batchSize(configuration.getBatchSize())
+                .flushInterval(configuration.getFlushInterval()).jitterInterval(configuration.getJitterInterval())
+                .bufferLimit(configuration.getBufferLimit()).retryInterval(configuration.getRetryInterval())
+                .backpressureStrategy(BackpressureOverflowStrategy.DROP_OLDEST).build();
+        final WriteApi createdWriteAPI = createdClient.getWriteApi(writeOptions);
+        createdWriteAPI.listenEvents(WriteSuccessEvent.class, this::onWriteSuccess);
+        createdWriteAPI.listenEvents(BackpressureEvent.class, event -> {
+            // the oldest batch is dropped when the buffer is full, the event doesn't tell how many points it had
+            statistics.batchDropped();
+            logger.warn("Write buffer full, dropped oldest batch of points");
+        });
+        createdWriteAPI.listenEvents(WriteErrorEvent.class, event -> {
+            statistics.batchFailed();
+            logger.warn("Writing points failed: {}", event.getThrowable().getMessage());
+        });
+        writeAPI = createdWriteAPI;
         return checkConnectionStatus();
     }
 
@@ -143,11 +166,38 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         final WriteApi currentWriteAPI = writeAPI;
         if (currentWriteAPI != null) {
             currentWriteAPI.writePoint(convertPointToClientFormat(point));
+            statistics.pointWritten();
         } else {
             logger.warn("Write point {} ignored due to writeAPI isn't present", point);
         }
     }
 
+    private void onWriteSuccess(WriteSuccessEvent event) {
+        String lineProtocol = event.getLineProtocol();
+        int end = lineProtocol.length();
+        while (end > 0 && Character.isWhitespace(lineProtocol.charAt(end - 1))) {
+            end--;
+        }
+        int count = 1;
+        for (int i = lineProtocol.indexOf('\n'); i >= 0 && i < end; i = lineProtocol.indexOf('\n', i + 1)) {
+            count++;
+        }
+        // points are written with millisecond precision, the timestamp is the last element of the last line
+        String time = lineProtocol.substring(lineProtocol.lastIndexOf(' ', end - 1) + 1, end);
+        long latency = -1;
+        try {
+            latency = System.currentTimeMillis() - Long.parseLong(time);
+        } catch (NumberFormatException e) {
+            logger.trace("Unable to parse timestamp {} of last line", time);
+        }
+        statistics.pointsStored(count, latency);
+    }
+
+    @Override
+    public InfluxDBWriteStatistics getWriteStatistics() {
+        return statistics;
+    }
+
     private Point convertPointToClientFormat(InfluxPoint point) {
         Point clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime(), WritePrecision.MS);
         setPointValue(point.getValue(), clientPoint);
@@ -170,37 +220,36 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     /**
-     * Executes Flux query
+     * Executes Flux query streaming the results
      *
      * @param query Query
      * @return Query results
      */
     @Override
-    public List<InfluxRow> query(String query) {
+    public StreamingQueryResult query(String query) {
         final QueryApi currentQueryAPI = queryAPI;
         if (currentQueryAPI != null) {
-            List<FluxTable> clientResult = currentQueryAPI.query(query);
-            return convertClientResutToRepository(clientResult);
+            StreamingQueryResult result = new StreamingQueryResult(QUERY_CHUNK_SIZE, QUERY_TIMEOUT_MILLIS);
+            currentQueryAPI.query(query, (cancellable, record) -> {
+                if (!result.offer(mapRecordToRow(record))) {
+                    cancellable.cancel();
+                }
+            }, result::fail, result::complete);
+            return result;
         } else {
-            logger.warn("Returning empty list because queryAPI isn't present");
-            return Collections.emptyList();
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return StreamingQueryResult.empty();
         }
     }
 
-    private List<InfluxRow> convertClientResutToRepository(List<FluxTable> clientResult) {
-        return clientResult.stream().flatMap(this::mapRawResultToHistoric).collect(Collectors.toList());
-    }
-
-    private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            if (itemName == null) { // use measurement name if item is not tagged
-                itemName = r.getMeasurement();
-            }
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+    private InfluxRow mapRecordToRow(FluxRecord record) {
+        String itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        if (itemName == null) { // use measurement name if item is not tagged
+            itemName = record.getMeasurement();
+        }
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) record.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
     }
 
     /**
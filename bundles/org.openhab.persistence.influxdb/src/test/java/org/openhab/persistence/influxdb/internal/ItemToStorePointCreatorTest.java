@@ -18,6 +18,7 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.DefaultLocation;
@@ -97,6 +98,7 @@ public class ItemToStorePointCreatorTest {
         assertThat(point.getTags(), hasEntry(InfluxDBConstants.TAG_CATEGORY_NAME, "categoryValue"));
 
         when(influxDBConfiguration.isAddCategoryTag()).thenReturn(false);
+        instance.invalidate(item.getName());
         point = instance.convert(item, null);
         assertThat(point.getTags(), not(hasKey(InfluxDBConstants.TAG_CATEGORY_NAME)));
     }
@@ -110,6 +112,7 @@ public class ItemToStorePointCreatorTest {
         assertThat(point.getTags(), hasEntry(InfluxDBConstants.TAG_TYPE_NAME, "Number"));
 
         when(influxDBConfiguration.isAddTypeTag()).thenReturn(false);
+        instance.invalidate(item.getName());
         point = instance.convert(item, null);
         assertThat(point.getTags(), not(hasKey(InfluxDBConstants.TAG_TYPE_NAME)));
     }
@@ -124,6 +127,7 @@ public class ItemToStorePointCreatorTest {
         assertThat(point.getTags(), hasEntry(InfluxDBConstants.TAG_LABEL_NAME, "ItemLabel"));
 
         when(influxDBConfiguration.isAddLabelTag()).thenReturn(false);
+        instance.invalidate(item.getName());
         point = instance.convert(item, null);
         assertThat(point.getTags(), not(hasKey(InfluxDBConstants.TAG_LABEL_NAME)));
     }
@@ -155,6 +159,7 @@ public class ItemToStorePointCreatorTest {
 
         when(metadataRegistry.get(metadataKey))
                 .thenReturn(new Metadata(metadataKey, "measurementName", Map.of("key1", "val1", "key2", "val2")));
+        instance.invalidate(item.getName());
 
         point = instance.convert(item, null);
         assertThat(point.getMeasurementName(), equalTo("measurementName"));
@@ -162,9 +167,58 @@ public class ItemToStorePointCreatorTest {
 
         when(metadataRegistry.get(metadataKey))
                 .thenReturn(new Metadata(metadataKey, "", Map.of("key1", "val1", "key2", "val2")));
+        instance.invalidate(item.getName());
 
         point = instance.convert(item, null);
         assertThat(point.getMeasurementName(), equalTo(item.getName()));
         assertThat(point.getTags(), hasEntry("item", item.getName()));
     }
+
+    @Test
+    public void shouldCacheItemInformationUntilInvalidated() {
+        NumberItem item = ItemTestHelper.createNumberItem("myitem", 5);
+        MetadataKey metadataKey = new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, item.getName());
+
+        InfluxPoint point = instance.convert(item, null);
+        assertThat(point.getMeasurementName(), equalTo(item.getName()));
+
+        when(metadataRegistry.get(metadataKey)).thenReturn(new Metadata(metadataKey, "measurementName", Map.of()));
+
+        point = instance.convert(item, null);
+        assertThat(point.getMeasurementName(), equalTo(item.getName()));
+
+        point = instance.convert(item, "aliasName");
+        assertThat(point.getMeasurementName(), equalTo("measurementName"));
+
+        instance.invalidate(item.getName());
+        point = instance.convert(item, null);
+        assertThat(point.getMeasurementName(), equalTo("measurementName"));
+    }
+
+    @Test
+    public void shouldNotKeepItemInformationResolvedBeforeConcurrentInvalidation() throws InterruptedException {
+        NumberItem item = ItemTestHelper.createNumberItem("myitem", 5);
+        MetadataKey metadataKey = new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, item.getName());
+        AtomicReference<Metadata> metadata = new AtomicReference<>(new Metadata(metadataKey, "", Map.of()));
+        AtomicReference<Thread> change = new AtomicReference<>();
+
+        // the metadata changes and the cache is invalidated while the previous metadata is resolved
+        when(metadataRegistry.get(metadataKey)).thenAnswer(invocation -> {
+            if (change.get() == null) {
+                Thread thread = new Thread(() -> {
+                    metadata.set(new Metadata(metadataKey, "measurementName", Map.of()));
+                    instance.invalidate(item.getName());
+                });
+                change.set(thread);
+                thread.start();
+            }
+            return metadata.get();
+        });
+
+        instance.convert(item, null);
+        change.get().join();
+
+        InfluxPoint point = instance.convert(item, null);
+        assertThat(point.getMeasurementName(), equalTo("measurementName"));
+    }
 }
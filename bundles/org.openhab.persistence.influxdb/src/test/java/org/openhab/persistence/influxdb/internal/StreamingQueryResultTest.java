@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResultTest {
+
+    @Test
+    public void rowsAreStreamedFromProducerThread() throws InterruptedException {
+        StreamingQueryResult result = new StreamingQueryResult(2, 5000);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                result.offer(new InfluxRow(Instant.ofEpochMilli(i), "item", i));
+            }
+            result.complete();
+        });
+        producer.start();
+
+        List<Object> values = new ArrayList<>();
+        result.forEachRemaining(row -> values.add(row.getValue()));
+        producer.join();
+
+        assertThat(values, equalTo(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+    }
+
+    @Test
+    public void failedQueryThrows() {
+        StreamingQueryResult result = new StreamingQueryResult(2, 5000);
+        result.offer(new InfluxRow(Instant.now(), "item", 1));
+        result.fail(new IllegalStateException("error"));
+
+        assertThat(result.hasNext(), is(true));
+        result.next();
+        assertThrows(IllegalStateException.class, result::hasNext);
+        // the result stays closed after the failure
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void missingResultThrowsAfterTimeout() {
+        StreamingQueryResult result = new StreamingQueryResult(2, 10);
+
+        assertThrows(IllegalStateException.class, result::hasNext);
+    }
+
+    @Test
+    public void emptyResultHasNoRows() {
+        assertThat(StreamingQueryResult.empty().hasNext(), is(false));
+    }
+
+    @Test
+    public void producerIsReleasedWhenConsumerCloses() throws InterruptedException {
+        StreamingQueryResult result = new StreamingQueryResult(1, 5000);
+        result.offer(new InfluxRow(Instant.now(), "item", 1));
+        Thread producer = new Thread(() -> result.offer(new InfluxRow(Instant.now(), "item", 2)));
+        producer.start();
+        try (StreamingQueryResult consumer = result) {
+            assertThat(consumer.hasNext(), is(true));
+        }
+        producer.join(1000);
+        assertThat(producer.isAlive(), is(false));
+
+        assertThat(result.offer(new InfluxRow(Instant.now(), "item", 1)), is(false));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void cancelledQueryThrowsAfterBufferedRows() {
+        StreamingQueryResult result = new StreamingQueryResult(1, 10);
+        assertThat(result.offer(new InfluxRow(Instant.now(), "item", 1)), is(true));
+        // the consumer doesn't read in time, so the producer cancels the query
+        assertThat(result.offer(new InfluxRow(Instant.now(), "item", 2)), is(false));
+        result.complete();
+
+        assertThat(result.hasNext(), is(true));
+        assertThat(result.next().getValue(), is(1));
+        assertThrows(IllegalStateException.class, result::hasNext);
+    }
+}
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -65,12 +66,15 @@ import org.slf4j.LoggerFactory;
         QueryablePersistenceService.class }, configurationPid = "org.openhab.jdbc", //
         property = Constants.SERVICE_PID + "=org.openhab.jdbc")
 @ConfigurableService(category = "persistence", label = "JDBC Persistence Service", description_uri = JdbcPersistenceServiceConstants.CONFIG_URI)
-public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService {
+public class JdbcPersistenceService extends JdbcMapper
+        implements ModifiablePersistenceService, JdbcWriteQueue.Writer {
 
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
 
+    private @Nullable JdbcWriteQueue writeQueue;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -114,6 +118,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        closeWriteQueue();
         // closeConnection();
         initialized = false;
     }
@@ -151,6 +156,14 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
             return;
         }
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            if (!writeQueue.add(item, state, date)) {
+                logger.debug("JDBC::store: write queue is full, dropped state '{}' for item '{}'", state,
+                        item.getName());
+            }
+            return;
+        }
         if (!checkDBAccessability()) {
             logger.warn(
                     "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
@@ -169,6 +182,31 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    @Override
+    public boolean isWritable() {
+        return checkDBAccessability();
+    }
+
+    @Override
+    public void storeItemValues(Item item, Map<ZonedDateTime, State> values) throws JdbcException {
+        super.storeItemValues(item, values);
+    }
+
+    /**
+     * Get the write-behind queue, if enabled.
+     */
+    public @Nullable JdbcWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    private void closeWriteQueue() {
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            this.writeQueue = null;
+            writeQueue.close();
+        }
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -240,6 +278,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        closeWriteQueue();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -255,6 +294,14 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.valid && conf.getBatchSize() > 0) {
+            writeQueue = new JdbcWriteQueue(this,
+                    ThreadPoolManager.getScheduledPool(JdbcPersistenceServiceConstants.THREADPOOL_NAME),
+                    conf.getBatchSize(), conf.getBatchFlushInterval(), conf.getBatchQueueCapacity());
+            logger.debug("JDBC::updateConfig: write queue enabled, batchSize={} batchFlushInterval={} ms",
+                    conf.getBatchSize(), conf.getBatchFlushInterval());
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
@@ -26,4 +26,5 @@ public class JdbcPersistenceServiceConstants {
     public static final String SERVICE_ID = "jdbc";
     public static final String SERVICE_LABEL = "JDBC";
     public static final String CONFIG_URI = "persistence:jdbc";
+    public static final String THREADPOOL_NAME = "jdbc-persistence";
 }
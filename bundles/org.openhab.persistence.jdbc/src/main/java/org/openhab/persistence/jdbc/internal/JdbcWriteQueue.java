@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind queue for item values. Pending values are grouped per item (and thus per item table)
+ * and handed over as one batch per item when either the configured batch size is reached or the
+ * flush interval has elapsed. When the queue is full, new values are dropped and counted.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueue {
+
+    /**
+     * Target for flushed values.
+     */
+    public interface Writer {
+        /**
+         * @return true if the database is available and values can be written
+         */
+        boolean isWritable();
+
+        void storeItemValues(Item item, Map<ZonedDateTime, State> values) throws JdbcException;
+    }
+
+    private static class PendingValues {
+        private Item item;
+        private final Map<ZonedDateTime, State> values = new LinkedHashMap<>();
+
+        private PendingValues(Item item) {
+            this.item = item;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteQueue.class);
+
+    private final Writer writer;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final int capacity;
+
+    private final Object queueLock = new Object();
+    private final Object flushLock = new Object();
+    private Map<String, PendingValues> pending = new LinkedHashMap<>();
+    private int pendingCount = 0;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    public JdbcWriteQueue(Writer writer, ScheduledExecutorService scheduler, int batchSize, int flushInterval,
+            int capacity) {
+        this.writer = writer;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a value to the queue.
+     *
+     * @param item the item to store
+     * @param state the state to store
+     * @param date the timestamp of the state, or null to use the current time
+     * @return false if the value was dropped because the queue is full
+     */
+    public boolean add(Item item, State state, @Nullable ZonedDateTime date) {
+        // JDBC timestamps are stored with millisecond precision, so values within the same millisecond collapse
+        ZonedDateTime timestamp = (date == null ? ZonedDateTime.now() : date).truncatedTo(ChronoUnit.MILLIS);
+        boolean triggerFlush;
+        synchronized (queueLock) {
+            if (pendingCount >= capacity) {
+                long dropped = droppedCount.incrementAndGet();
+                if (dropped == 1 || dropped % 1000 == 0) {
+                    logger.warn("JDBC::add: write queue is full ({} values), {} values dropped so far", pendingCount,
+                            dropped);
+                }
+                return false;
+            }
+            PendingValues values = pending.computeIfAbsent(item.getName(), k -> new PendingValues(item));
+            values.item = item;
+            if (values.values.put(timestamp, state) == null) {
+                pendingCount++;
+            }
+            triggerFlush = pendingCount >= batchSize;
+        }
+        if (triggerFlush && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Writes all pending values. Values of an item are written in one batch.
+     * If the database is not available, the values remain queued.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            if (!writer.isWritable()) {
+                logger.debug("JDBC::flush: database not available, keeping {} queued values", getPendingCount());
+                return;
+            }
+            Map<String, PendingValues> toWrite;
+            synchronized (queueLock) {
+                if (pendingCount == 0) {
+                    return;
+                }
+                toWrite = pending;
+                pending = new LinkedHashMap<>();
+                pendingCount = 0;
+            }
+            long timerStart = System.currentTimeMillis();
+            int count = 0;
+            for (PendingValues values : toWrite.values()) {
+                try {
+                    writer.storeItemValues(values.item, values.values);
+                    storedCount.addAndGet(values.values.size());
+                    batchCount.incrementAndGet();
+                    count += values.values.size();
+                } catch (JdbcException e) {
+                    failedCount.addAndGet(values.values.size());
+                    logger.warn("JDBC::flush: Unable to store {} values for item '{}'", values.values.size(),
+                            values.item.getName(), e);
+                }
+            }
+            logger.debug("JDBC::flush: stored {} values of {} items in {} ms", count, toWrite.size(),
+                    System.currentTimeMillis() - timerStart);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes all remaining values.
+     */
+    public void close() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
+        int remaining = getPendingCount();
+        if (remaining > 0) {
+            logger.warn("JDBC::close: {} queued values could not be written", remaining);
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (queueLock) {
+            return pendingCount;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+}
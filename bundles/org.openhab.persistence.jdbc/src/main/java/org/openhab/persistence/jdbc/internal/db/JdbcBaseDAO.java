@@ -446,10 +446,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = storeItemValueWithTimestampProvider(storedVO);
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueWithTimestampParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -458,6 +457,38 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item in a single JDBC batch.
+     *
+     * @param item the item the values belong to
+     * @param tableName the table of the item
+     * @param values the states to store, keyed by their timestamp
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, String tableName, Map<ZonedDateTime, State> values)
+            throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = null;
+        Object[][] params = new Object[values.size()][];
+        int i = 0;
+        for (Map.Entry<ZonedDateTime, State> entry : values.entrySet()) {
+            ItemVO storedVO = storeItemValueProvider(item, entry.getValue(), new ItemVO(tableName, null));
+            if (sql == null) {
+                sql = storeItemValueWithTimestampProvider(storedVO);
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(entry.getKey().toInstant().toEpochMilli());
+            params[i++] = storeItemValueWithTimestampParamsProvider(storedVO, timestamp);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} count={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -561,6 +592,15 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected String storeItemValueWithTimestampProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    protected Object[] storeItemValueWithTimestampParamsProvider(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.types.State;
+
+/**
+ * Tests the {@link JdbcWriteQueue}.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueueTest {
+
+    private static class TestWriter implements JdbcWriteQueue.Writer {
+        private boolean writable = true;
+        private final List<String> itemNames = new ArrayList<>();
+        private final List<Map<ZonedDateTime, State>> batches = new ArrayList<>();
+
+        @Override
+        public boolean isWritable() {
+            return writable;
+        }
+
+        @Override
+        public void storeItemValues(Item item, Map<ZonedDateTime, State> values) {
+            itemNames.add(item.getName());
+            batches.add(new LinkedHashMap<>(values));
+        }
+    }
+
+    private final TestWriter writer = new TestWriter();
+    private final JdbcWriteQueue queue = new JdbcWriteQueue(writer, mock(ScheduledExecutorService.class), 100, 1000,
+            3);
+
+    @Test
+    void valuesAreGroupedPerItem() {
+        NumberItem item1 = new NumberItem("item1");
+        NumberItem item2 = new NumberItem("item2");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        queue.add(item1, new DecimalType(1), now);
+        queue.add(item2, new DecimalType(2), now);
+        queue.add(item1, new DecimalType(3), now.plusSeconds(1));
+        queue.flush();
+
+        assertThat(writer.itemNames, contains("item1", "item2"));
+        assertThat(writer.batches.get(0).values(), contains(new DecimalType(1), new DecimalType(3)));
+        assertThat(writer.batches.get(1).values(), contains(new DecimalType(2)));
+        assertThat(queue.getPendingCount(), is(0));
+        assertThat(queue.getStoredCount(), is(3L));
+        assertThat(queue.getBatchCount(), is(2L));
+    }
+
+    @Test
+    void valuesWithSameTimestampAreCoalesced() {
+        NumberItem item = new NumberItem("item");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        queue.add(item, new DecimalType(1), now);
+        queue.add(item, new DecimalType(2), now);
+        queue.flush();
+
+        assertThat(writer.batches, hasSize(1));
+        assertThat(writer.batches.get(0).values(), contains(new DecimalType(2)));
+    }
+
+    @Test
+    void valuesAreDroppedWhenQueueIsFull() {
+        NumberItem item = new NumberItem("item");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        for (int i = 0; i < 5; i++) {
+            queue.add(item, new DecimalType(i), now.plusSeconds(i));
+        }
+
+        assertThat(queue.getPendingCount(), is(3));
+        assertThat(queue.getDroppedCount(), is(2L));
+    }
+
+    @Test
+    void valuesAreKeptWhileDatabaseIsNotWritable() {
+        NumberItem item = new NumberItem("item");
+        writer.writable = false;
+
+        queue.add(item, new DecimalType(1), ZonedDateTime.now());
+        queue.flush();
+
+        assertThat(writer.batches, is(empty()));
+        assertThat(queue.getPendingCount(), is(1));
+
+        writer.writable = true;
+        queue.close();
+
+        assertThat(writer.batches, hasSize(1));
+        assertThat(queue.getPendingCount(), is(0));
+    }
+}
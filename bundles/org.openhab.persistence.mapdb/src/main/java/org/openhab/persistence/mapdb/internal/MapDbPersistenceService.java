@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -73,6 +74,10 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
 
+    /** set while a commit is queued, stores in the meantime are included in that commit */
+    private final AtomicBoolean commitPending = new AtomicBoolean();
+    private final Object commitLock = new Object();
+
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
@@ -142,6 +147,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            commitPendingChanges();
             db.close();
         }
     }
@@ -218,7 +224,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     }
 
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        // group commit: a burst of stores results in a single commit
+        if (commitPending.compareAndSet(false, true)) {
+            threadPool.submit(this::commitPendingChanges);
+        }
+    }
+
+    private void commitPendingChanges() {
+        synchronized (commitLock) {
+            if (commitPending.getAndSet(false)) {
+                db.commit();
+            }
+        }
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
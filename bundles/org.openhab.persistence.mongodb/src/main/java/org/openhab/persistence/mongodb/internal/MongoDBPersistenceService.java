@@ -17,14 +17,21 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -65,6 +72,7 @@ import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -83,12 +91,16 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final int PAGE_CURSOR_CACHE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private int batchSize = 1;
+    private int flushInterval = 1000;
 
     private boolean initialized = false;
 
@@ -96,6 +108,39 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("mongodb-persistence");
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    // documents waiting to be inserted, per collection
+    private final Map<String, List<DBObject>> pendingDocuments = new HashMap<>();
+    private int pendingCount = 0;
+    private final Object flushLock = new Object();
+
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+
+    // position after the last returned page of recent queries, to continue with the next page without skip()
+    private final Map<String, PageCursor> pageCursors = Collections
+            .synchronizedMap(new LinkedHashMap<String, PageCursor>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, PageCursor> eldest) {
+                    return size() > PAGE_CURSOR_CACHE_SIZE;
+                }
+            });
+
+    private static class PageCursor {
+        private final int pageNumber;
+        private final Date timestamp;
+        private final int countAtTimestamp;
+
+        private PageCursor(int pageNumber, Date timestamp, int countAtTimestamp) {
+            this.pageNumber = pageNumber;
+            this.timestamp = timestamp;
+            this.countAtTimestamp = countAtTimestamp;
+        }
+    }
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -127,16 +172,45 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        batchSize = Math.max(1, getConfigInt(config, "batchSize", 1));
+        flushInterval = Math.max(10, getConfigInt(config, "flushInterval", 1000));
+        logger.debug("MongoDB batch size {}, flush interval {} ms", batchSize, flushInterval);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        if (batchSize > 1) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+
         initialized = true;
     }
 
+    private int getConfigInt(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof String && !((String) value).isBlank()) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for mongodb:{}, using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
         disconnectFromDatabase();
     }
 
@@ -163,6 +237,24 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String collectionName = collectionPerItem ? realItemName : this.collection;
+        String name = (alias != null) ? alias : realItemName;
+        Object value = this.convertValue(item.getState());
+
+        DBObject obj = new BasicDBObject();
+        obj.put(FIELD_ID, new ObjectId());
+        obj.put(FIELD_ITEM, name);
+        obj.put(FIELD_REALNAME, realItemName);
+        obj.put(FIELD_TIMESTAMP, new Date());
+        obj.put(FIELD_VALUE, value);
+
+        if (batchSize > 1) {
+            enqueue(collectionName, obj);
+            logger.debug("MongoDB queued {}={}", name, value);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -172,9 +264,6 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String collectionName = collectionPerItem ? realItemName : this.collection;
-
         @Nullable
         DBCollection collection = connectToCollection(collectionName);
 
@@ -183,20 +272,62 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
-        String name = (alias != null) ? alias : realItemName;
-        Object value = this.convertValue(item.getState());
-
-        DBObject obj = new BasicDBObject();
-        obj.put(FIELD_ID, new ObjectId());
-        obj.put(FIELD_ITEM, name);
-        obj.put(FIELD_REALNAME, realItemName);
-        obj.put(FIELD_TIMESTAMP, new Date());
-        obj.put(FIELD_VALUE, value);
         collection.save(obj);
 
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    private void enqueue(String collectionName, DBObject obj) {
+        boolean batchComplete;
+        synchronized (pendingDocuments) {
+            pendingDocuments.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(obj);
+            batchComplete = ++pendingCount >= batchSize;
+        }
+        if (batchComplete) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Inserts all queued documents with one bulk insert per collection
+     */
+    private void flush() {
+        synchronized (flushLock) {
+            Map<String, List<DBObject>> documents;
+            int count;
+            synchronized (pendingDocuments) {
+                if (pendingCount == 0) {
+                    return;
+                }
+                documents = new HashMap<>(pendingDocuments);
+                count = pendingCount;
+                pendingDocuments.clear();
+                pendingCount = 0;
+            }
+
+            if (!tryConnectToDatabase()) {
+                logger.warn("mongodb: No connection to database. Dropped {} queued values.", count);
+                return;
+            }
+
+            for (Map.Entry<String, List<DBObject>> entry : documents.entrySet()) {
+                @Nullable
+                DBCollection collection = connectToCollection(entry.getKey());
+                if (collection == null) {
+                    // Logging is done in connectToCollection()
+                    continue;
+                }
+                try {
+                    collection.insert(entry.getValue());
+                } catch (MongoException e) {
+                    logger.error("Failed to insert {} values into collection {}: {}", entry.getValue().size(),
+                            entry.getKey(), e.getMessage());
+                }
+            }
+            logger.debug("MongoDB inserted {} queued values", count);
+        }
+    }
+
     private Object convertValue(State state) {
         Object value;
         if (state instanceof PercentType) {
@@ -298,12 +429,16 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
             DBCollection mongoCollection = db.getDB(this.db).getCollection(collectionName);
 
-            BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            // the index is only created once per collection and not on every access
+            if (indexedCollections.add(collectionName)) {
+                BasicDBObject idx = new BasicDBObject();
+                idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
+                mongoCollection.createIndex(idx);
+            }
 
             return mongoCollection;
         } catch (Exception e) {
+            indexedCollections.remove(collectionName);
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
             return null;
         }
@@ -326,6 +461,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
+        // make queued values visible to the query
+        flush();
+
         if (!tryConnectToDatabase()) {
             return Collections.emptyList();
         }
@@ -381,12 +519,44 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         logger.debug("Query: {}", query);
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
-                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
+        int pageNumber = filter.getPageNumber();
+        int pageSize = filter.getPageSize();
+        String pageCursorKey = collectionName + query + sortDir + "/" + pageSize;
+        @Nullable
+        PageCursor pageCursor = pageNumber > 0 ? pageCursors.get(pageCursorKey) : null;
+
+        DBCursor cursor;
+        @Nullable
+        Date lastTimestamp = null;
+        int countAtLastTimestamp = 0;
+        if (pageCursor != null && pageCursor.pageNumber == pageNumber - 1) {
+            // keyset pagination: continue at the timestamp of the previous page, skipping only the values
+            // with that same timestamp which were already returned
+            BasicDBObject keysetDateQueries = new BasicDBObject(dateQueries);
+            keysetDateQueries.put(sortDir == 1 ? "$gte" : "$lte", pageCursor.timestamp);
+            BasicDBObject keysetQuery = new BasicDBObject(query);
+            keysetQuery.put(FIELD_TIMESTAMP, keysetDateQueries);
+            logger.debug("Keyset query: {}", keysetQuery);
+            cursor = collection.find(keysetQuery).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
+                    .skip(pageCursor.countAtTimestamp).limit(pageSize);
+            lastTimestamp = pageCursor.timestamp;
+            countAtLastTimestamp = pageCursor.countAtTimestamp;
+        } else {
+            cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
+                    .skip(pageNumber * pageSize).limit(pageSize);
+        }
 
         while (cursor.hasNext()) {
             BasicDBObject obj = (BasicDBObject) cursor.next();
 
+            Date timestamp = obj.getDate(FIELD_TIMESTAMP);
+            if (timestamp.equals(lastTimestamp)) {
+                countAtLastTimestamp++;
+            } else {
+                lastTimestamp = timestamp;
+                countAtLastTimestamp = 1;
+            }
+
             final State state;
             if (item instanceof NumberItem) {
                 state = new DecimalType(obj.getDouble(FIELD_VALUE));
@@ -406,7 +576,11 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             }
 
             items.add(new MongoDBItem(realItemName, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+                    ZonedDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault())));
+        }
+
+        if (pageSize != Integer.MAX_VALUE && items.size() == pageSize && lastTimestamp != null) {
+            pageCursors.put(pageCursorKey, new PageCursor(pageNumber, lastTimestamp, countAtLastTimestamp));
         }
 
         return items;
@@ -20,8 +20,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -32,6 +32,8 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -69,16 +71,20 @@ import org.openhab.core.types.State;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +97,7 @@ import org.slf4j.LoggerFactory;
  * @author Kai Kreuzer - Initial contribution
  * @author Jan N. Klug - some improvements
  * @author Karel Goderis - remove TimerThread dependency
+ * @author Tim Harper - per database locking, coalescing of samples per step, configurable backend
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class,
@@ -115,9 +122,40 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+    private static final String CONFIG_POOL_CAPACITY = "poolCapacity";
+    private static final String CONFIG_OPEN_DATABASES = "openDatabases";
+
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_FILE = "file";
+
+    private static final int DEFAULT_SYNC_PERIOD = 300;
+    private static final int DEFAULT_POOL_CAPACITY = 200;
+
+    // how long a configuration change waits for pooled databases of the previous backend to be released
+    private static final long BACKEND_RELEASE_TIMEOUT_MILLIS = 10000;
+
+    private static volatile RrdBackendFactory backendFactory = RrdBackendFactory.getDefaultFactory();
+    private static @Nullable String backendSettings;
+
+    // the active service, whose buffered samples are flushed before the chart servlet reads a database
+    private static volatile @Nullable RRD4jPersistenceService activeService;
+
+    // recently used databases which are kept open, in access order
+    private final Map<String, RrdDb> openDatabases = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int maxOpenDatabases = 0;
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
 
-    private final Map<String, ScheduledFuture<?>> scheduledJobs = new HashMap<>();
+    private final Map<String, PendingSample> pendingSamples = new ConcurrentHashMap<>();
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    // number of locks guarding database access, databases with the same lock index are updated sequentially
+    private static final int LOCK_STRIPES = 64;
+
+    private final Lock[] databaseLocks = new Lock[LOCK_STRIPES];
 
     private final ItemRegistry itemRegistry;
 
@@ -129,9 +167,47 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
+    /**
+     * Writes the buffered sample of the given item or alias, so that a following read of the database sees it.
+     *
+     * @param name the item name or alias
+     */
+    public static void flushPendingSample(String name) {
+        RRD4jPersistenceService service = activeService;
+        if (service != null) {
+            Lock lock = service.getDatabaseLock(name);
+            lock.lock();
+            try {
+                service.flushPendingSampleLocked(name);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered sample of a database before it is read. Samples of the current second are left buffered,
+     * because rrd4j rejects a second sample with the same timestamp once a value for that second is stored.
+     * Callers must hold the lock returned by {@link #getDatabaseLock(String)}.
+     */
+    private void flushPendingSampleLocked(String name) {
+        PendingSample pendingSample = pendingSamples.get(name);
+        if (pendingSample != null && pendingSample.isDirty()
+                && pendingSample.time < System.currentTimeMillis() / 1000) {
+            writeSample(name, pendingSample);
+        }
+    }
+
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            databaseLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -145,13 +221,74 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     @Override
-    public synchronized void store(final Item item, @Nullable final String alias) {
+    public void store(final Item item, @Nullable final String alias) {
         if (!isSupportedItemType(item)) {
             logger.trace("Ignoring item '{}' since its type {} is not supported", item.getName(), item.getType());
             return;
         }
         final String name = alias == null ? item.getName() : alias;
 
+        Double value = getValue(item);
+        if (value == null) {
+            return;
+        }
+
+        Lock lock = getDatabaseLock(name);
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis() / 1000;
+            PendingSample pendingSample = pendingSamples.get(name);
+            if (pendingSample == null) {
+                pendingSample = createPendingSample(name);
+                if (pendingSample == null) {
+                    return;
+                }
+                pendingSamples.put(name, pendingSample);
+            } else if (pendingSample.isDirty() && pendingSample.getStepIndex(now) != pendingSample.stepIndex
+                    && !writeSample(name, pendingSample)) {
+                // the previous step was not flushed yet and still can't be written, start the new step anyway
+                logger.warn("Dropping buffered value of '{}' for rrd4j database", name);
+                pendingSample.reset();
+            }
+            pendingSample.add(now, value);
+            logger.trace("Buffered '{}' as value '{}' for rrd4j database", name, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private @Nullable Double getValue(Item item) {
+        if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
+            NumberItem nItem = (NumberItem) item;
+            QuantityType<?> qState = (QuantityType<?>) item.getState();
+            Unit<? extends Quantity<?>> unit = nItem.getUnit();
+            if (unit != null) {
+                QuantityType<?> convertedState = qState.toUnit(unit);
+                if (convertedState != null) {
+                    return convertedState.doubleValue();
+                } else {
+                    logger.warn(
+                            "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
+                            qState, unit);
+                    return null;
+                }
+            } else {
+                return qState.doubleValue();
+            }
+        } else {
+            DecimalType state = item.getStateAs(DecimalType.class);
+            if (state != null) {
+                return state.toBigDecimal().doubleValue();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads the properties of the database that are needed to consolidate samples.
+     * Callers must hold the lock returned by {@link #getDatabaseLock(String)}.
+     */
+    private @Nullable PendingSample createPendingSample(String name) {
         RrdDb db = null;
         try {
             db = getDB(name);
@@ -159,22 +296,80 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             logger.warn("Failed to open rrd4j database '{}' ({})", name, e.getClass().getName());
         }
         if (db == null) {
-            return;
+            return null;
         }
+        try {
+            return new PendingSample(db.getRrdDef().getStep(), getConsolidationFunction(db),
+                    db.getDatasource(DATASOURCE_STATE).getType());
+        } catch (IOException e) {
+            logger.warn("Failed to read rrd4j database '{}': {}", name, e.getMessage());
+            return null;
+        } finally {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
 
-        ConsolFun function = getConsolidationFunction(db);
+    /**
+     * Writes all buffered samples of completed steps to their databases.
+     */
+    private void flushSamples(boolean all) {
         long now = System.currentTimeMillis() / 1000;
-        if (function != ConsolFun.AVERAGE) {
+        for (Map.Entry<String, PendingSample> entry : pendingSamples.entrySet()) {
+            String name = entry.getKey();
+            PendingSample pendingSample = entry.getValue();
+            if (!pendingSample.isDirty() || (!all && pendingSample.getStepIndex(now) == pendingSample.stepIndex)) {
+                continue;
+            }
+            Lock lock = getDatabaseLock(name);
+            lock.lock();
+            try {
+                if (pendingSample.isDirty()) {
+                    writeSample(name, pendingSample);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes a buffered sample to the database and resets it. The sample is kept if the database can't be opened or
+     * written, so that the next flush tries again.
+     * Callers must hold the lock returned by {@link #getDatabaseLock(String)}.
+     *
+     * @return true if the sample was written or rejected by rrd4j, false if it is kept
+     */
+    private boolean writeSample(String name, PendingSample pendingSample) {
+        long time = pendingSample.time;
+        double value = pendingSample.getConsolidatedValue();
+
+        RrdDb db = null;
+        try {
+            db = getDB(name);
+        } catch (Exception e) {
+            logger.warn("Failed to open rrd4j database '{}' ({})", name, e.getClass().getName());
+        }
+        if (db == null) {
+            return false;
+        }
+
+        if (pendingSample.function != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
                 // in the database is not interpolated, but
                 // happens right at this spot
-                if (now - 1 > db.getLastUpdateTime()) {
+                if (time - 1 > db.getLastUpdateTime()) {
                     // only do it if there is not already a value
                     double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                     if (!Double.isNaN(lastValue)) {
                         Sample sample = db.createSample();
-                        sample.setTime(now - 1);
+                        sample.setTime(time - 1);
                         sample.setValue(DATASOURCE_STATE, lastValue);
                         sample.update();
                         logger.debug("Stored '{}' as value '{}' in rrd4j database (again)", name, lastValue);
@@ -186,55 +381,18 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
         try {
             Sample sample = db.createSample();
-            sample.setTime(now);
-
-            Double value = null;
-
-            if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
-                NumberItem nItem = (NumberItem) item;
-                QuantityType<?> qState = (QuantityType<?>) item.getState();
-                Unit<? extends Quantity<?>> unit = nItem.getUnit();
-                if (unit != null) {
-                    QuantityType<?> convertedState = qState.toUnit(unit);
-                    if (convertedState != null) {
-                        value = convertedState.doubleValue();
-                    } else {
-                        logger.warn(
-                                "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
-                                qState, unit);
-                    }
-                } else {
-                    value = qState.doubleValue();
-                }
-            } else {
-                DecimalType state = item.getStateAs(DecimalType.class);
-                if (state != null) {
-                    value = state.toBigDecimal().doubleValue();
-                }
-            }
-            if (value != null) {
-                if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) { // counter values must be
-                                                                                      // adjusted by stepsize
-                    value = value * db.getRrdDef().getStep();
-                }
-                sample.setValue(DATASOURCE_STATE, value);
-                sample.update();
-                logger.debug("Stored '{}' as value '{}' in rrd4j database", name, value);
+            sample.setTime(time);
+            if (pendingSample.dsType == DsType.COUNTER) { // counter values must be adjusted by stepsize
+                value = value * pendingSample.step;
             }
+            sample.setValue(DATASOURCE_STATE, value);
+            sample.update();
+            pendingSample.reset();
+            logger.debug("Stored '{}' as value '{}' in rrd4j database", name, value);
         } catch (IllegalArgumentException e) {
-            String message = e.getMessage();
-            if (message != null && message.contains("at least one second step is required")) {
-                // we try to store the value one second later
-                ScheduledFuture<?> job = scheduledJobs.get(name);
-                if (job != null) {
-                    job.cancel(true);
-                    scheduledJobs.remove(name);
-                }
-                job = scheduler.schedule(() -> store(item, name), 1, TimeUnit.SECONDS);
-                scheduledJobs.put(name, job);
-            } else {
-                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-            }
+            // rejected sample, e.g. older than the last update of the database, would be rejected again
+            pendingSample.reset();
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
@@ -243,6 +401,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (IOException e) {
             logger.debug("Error closing rrd4j database: {}", e.getMessage());
         }
+        return !pendingSample.isDirty();
     }
 
     @Override
@@ -254,6 +413,16 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         String itemName = filter.getItemName();
 
+        Lock lock = getDatabaseLock(itemName);
+        lock.lock();
+        try {
+            return internalQuery(filter, itemName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Iterable<HistoricItem> internalQuery(FilterCriteria filter, String itemName) {
         RrdDb db = null;
         try {
             db = getDB(itemName);
@@ -295,6 +464,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                         && filter.getPageNumber() == 0) {
                     if (filter.getEndDate() == null) {
                         // we are asked only for the most recent value!
+                        PendingSample pendingSample = pendingSamples.get(itemName);
+                        if (pendingSample != null && pendingSample.isDirty()) {
+                            // not yet written to the database
+                            return List.of(new RRD4jItem(itemName, mapToState(pendingSample.last, item, unit),
+                                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(pendingSample.time),
+                                            ZoneId.systemDefault())));
+                        }
                         double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                         if (!Double.isNaN(lastValue)) {
                             HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(lastValue, item, unit),
@@ -315,6 +491,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 start = filter.getBeginDate().toInstant().getEpochSecond();
             }
 
+            // include the values of the current step that are not written yet
+            flushPendingSampleLocked(itemName);
             FetchRequest request = db.createFetchRequest(getConsolidationFunction(db), start, end, 1);
             FetchData result = request.fetchData();
 
@@ -347,12 +525,27 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias) {
+    /**
+     * Returns the lock guarding the database of the given item or alias.
+     *
+     * @param name the item name or alias
+     * @return the lock to hold while accessing the database
+     */
+    protected Lock getDatabaseLock(String name) {
+        return databaseLocks[(name.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    /**
+     * Opens or creates the database of the given item or alias.
+     * Callers must hold the lock returned by {@link #getDatabaseLock(String)}.
+     */
+    protected @Nullable RrdDb getDB(String alias) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -379,9 +572,68 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             // this happens if the system is shut down
             logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
         }
+        if (db != null) {
+            keepOpen(alias, path);
+        }
         return db;
     }
 
+    /**
+     * Holds an additional pool reference to recently used databases, so that they are not closed and reopened
+     * on every access. Databases are opened and closed outside the lock, which only guards the access order.
+     */
+    private void keepOpen(String alias, Path path) {
+        if (maxOpenDatabases <= 0) {
+            return;
+        }
+        synchronized (openDatabases) {
+            if (openDatabases.get(alias) != null) {
+                return;
+            }
+        }
+        RrdDb db;
+        try {
+            Builder builder = RrdDb.getBuilder();
+            builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
+            builder.setPath(path.toString());
+            db = builder.build();
+        } catch (IOException | RejectedExecutionException e) {
+            logger.debug("Could not keep rrd4j database '{}' open: {}", alias, e.getMessage());
+            return;
+        }
+        List<RrdDb> evicted = new ArrayList<>();
+        synchronized (openDatabases) {
+            if (openDatabases.putIfAbsent(alias, db) != null) {
+                // kept open by another thread in the meantime
+                evicted.add(db);
+            }
+            Iterator<RrdDb> iterator = openDatabases.values().iterator();
+            while (openDatabases.size() > maxOpenDatabases && iterator.hasNext()) {
+                evicted.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        evicted.forEach(this::closeDatabase);
+    }
+
+    private void closeOpenDatabases() {
+        List<RrdDb> databases;
+        synchronized (openDatabases) {
+            databases = new ArrayList<>(openDatabases.values());
+            openDatabases.clear();
+        }
+        databases.forEach(this::closeDatabase);
+    }
+
+    private void closeDatabase(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
         RrdDefConfig useRdc = null;
         for (Map.Entry<String, RrdDefConfig> e : rrdDefs.entrySet()) {
@@ -473,10 +725,35 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     protected void activate(final Map<String, Object> config) {
         modified(config);
+        activeService = this;
+        // check for completed steps right after each full second
+        long delay = 1000 - System.currentTimeMillis() % 1000;
+        flushJob = scheduler.scheduleAtFixedRate(() -> flushSamples(false), delay, 1000, TimeUnit.MILLISECONDS);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        if (activeService == this) {
+            activeService = null;
+        }
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flushSamples(true);
+        closeOpenDatabases();
+        scheduler.shutdown();
     }
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        // write buffered samples and forget cached database properties
+        flushSamples(true);
+        pendingSamples.clear();
+        closeOpenDatabases();
+        configureBackend(config);
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -533,6 +810,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (CONFIG_BACKEND.equals(key) || CONFIG_SYNC_PERIOD.equals(key) || CONFIG_POOL_CAPACITY.equals(key)
+                    || CONFIG_OPEN_DATABASES.equals(key)) {
+                // handled by configureBackend
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -584,6 +867,159 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    /**
+     * Sets up the rrd4j backend and the database pool from the service configuration.
+     */
+    private void configureBackend(final Map<String, Object> config) {
+        String backend = getConfigString(config, CONFIG_BACKEND, BACKEND_NIO);
+        int syncPeriod = getConfigInt(config, CONFIG_SYNC_PERIOD, DEFAULT_SYNC_PERIOD);
+        int poolCapacity = getConfigInt(config, CONFIG_POOL_CAPACITY, DEFAULT_POOL_CAPACITY);
+        int openDatabaseCount = getConfigInt(config, CONFIG_OPEN_DATABASES, 0);
+
+        if (!BACKEND_FILE.equalsIgnoreCase(backend) && !BACKEND_NIO.equalsIgnoreCase(backend)) {
+            logger.warn("Unknown backend '{}', using '{}'", backend, BACKEND_NIO);
+            backend = BACKEND_NIO;
+        }
+        // the sync period only applies to the nio backend
+        String settings = BACKEND_FILE.equalsIgnoreCase(backend) ? BACKEND_FILE : BACKEND_NIO + ":" + syncPeriod;
+        if (!settings.equals(backendSettings)) {
+            RrdBackendFactory oldFactory = backendFactory;
+            backendFactory = BACKEND_FILE.equalsIgnoreCase(backend) ? new RrdRandomAccessFileBackendFactory()
+                    : new RrdNioBackendFactory(syncPeriod);
+            backendSettings = settings;
+            if (oldFactory != RrdBackendFactory.getDefaultFactory()) {
+                closeBackendFactory(oldFactory);
+            }
+        }
+
+        DATABASE_POOL.setCapacity(poolCapacity);
+        // pooled databases kept open count against the capacity of the pool
+        maxOpenDatabases = Math.min(openDatabaseCount, poolCapacity / 2);
+        logger.debug("Using rrd4j backend '{}' (sync period {}s), pool capacity {}, keeping {} databases open",
+                backend, syncPeriod, poolCapacity, maxOpenDatabases);
+    }
+
+    /**
+     * Closes a backend factory that was replaced. New databases are already opened with the new factory, so this
+     * waits until the chart servlet and running queries released the pooled databases of the old one. Databases
+     * still open after the timeout keep working, but are no longer synced periodically until they are closed.
+     */
+    private void closeBackendFactory(RrdBackendFactory factory) {
+        long deadline = System.currentTimeMillis() + BACKEND_RELEASE_TIMEOUT_MILLIS;
+        try {
+            while (DATABASE_POOL.getOpenUri().length > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int openCount = DATABASE_POOL.getOpenUri().length;
+        if (openCount > 0) {
+            logger.debug("Closing previous rrd4j backend while {} databases are still in use", openCount);
+        }
+        try {
+            factory.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j backend factory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return trimmed configuration value or the default if it is missing or blank
+     */
+    private String getConfigString(final Map<String, Object> config, String key, String defaultValue) {
+        Object value = config.get(key);
+        return value instanceof String && !((String) value).isBlank() ? ((String) value).trim() : defaultValue;
+    }
+
+    /**
+     * @return configuration value as integer or the default if it is missing or not a number
+     */
+    private int getConfigInt(final Map<String, Object> config, String key, int defaultValue) {
+        String value = getConfigString(config, key, "");
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring illegal configuration {} = {}", key, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Collects the values of one database within a step, so that only one sample per step is written.
+     */
+    private static class PendingSample {
+        public final long step;
+        public final ConsolFun function;
+        public final DsType dsType;
+
+        public long stepIndex = -1;
+        public long time;
+        public int count;
+        public double first, last, min, max, sum;
+        // time weighted sum like rrd4j computes it, a value counts for the time since the value before it
+        public double weightedSum;
+        public long duration;
+        private long previousTime = -1;
+
+        public PendingSample(long step, ConsolFun function, DsType dsType) {
+            this.step = Math.max(step, 1);
+            this.function = function;
+            this.dsType = dsType;
+        }
+
+        public long getStepIndex(long time) {
+            return time / step;
+        }
+
+        public boolean isDirty() {
+            return count > 0;
+        }
+
+        public void add(long time, double value) {
+            if (count == 0) {
+                stepIndex = getStepIndex(time);
+                first = min = max = value;
+                sum = weightedSum = 0;
+                duration = 0;
+            }
+            if (previousTime >= 0 && time > previousTime) {
+                weightedSum += value * (time - previousTime);
+                duration += time - previousTime;
+            }
+            previousTime = time;
+            this.time = time;
+            last = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+        }
+
+        public double getConsolidatedValue() {
+            switch (function) {
+                case AVERAGE:
+                    // values of the same second as the previous one have no duration of their own
+                    return duration > 0 ? weightedSum / duration : sum / count;
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                case FIRST:
+                    return first;
+                default:
+                    return last;
+            }
+        }
+
+        public void reset() {
+            count = 0;
+        }
+    }
+
     private static class RrdArchiveDef {
         public @Nullable ConsolFun fcn;
         public double xff;
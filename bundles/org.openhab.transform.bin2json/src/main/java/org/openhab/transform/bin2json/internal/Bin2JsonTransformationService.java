@@ -12,6 +12,10 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
@@ -30,8 +34,21 @@ import org.slf4j.LoggerFactory;
 @Component(property = { "openhab.transform=BIN2JSON" })
 public class Bin2JsonTransformationService implements TransformationService {
 
+    static final int PARSER_CACHE_SIZE = 100;
+
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    /** prepared parsers by syntax, a prepared parser can be used by several threads */
+    private final Map<String, Bin2Json> parserCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, Bin2Json>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Bin2Json> eldest) {
+                    return size() > PARSER_CACHE_SIZE;
+                }
+            });
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
@@ -46,7 +63,7 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            result = String.valueOf(getParser(syntax).convert(source));
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +73,36 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    /**
+     * Transforms binary data by Java Binary Block Parser syntax without encoding it to a hexa string first.
+     *
+     * @param syntax Java Binary Block Parser syntax.
+     * @param data the binary data to transform
+     * @return the JSON result
+     */
+    public String transform(String syntax, byte[] data) throws TransformationException {
+        try {
+            String result = String.valueOf(getParser(syntax).convert(data));
+            logger.debug("transformation resulted '{}'", result);
+            return result;
+        } catch (ConversionException e) {
+            throw new TransformationException("An error occurred while executing the converter. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the prepared parser of the syntax, it's created and cached on first use.
+     *
+     * @param syntax Java Binary Block Parser syntax.
+     * @return the prepared parser
+     */
+    Bin2Json getParser(String syntax) throws ConversionException {
+        Bin2Json parser = parserCache.get(syntax);
+        if (parser == null) {
+            parser = new Bin2Json(syntax);
+            parserCache.put(syntax, parser);
+        }
+        return parser;
+    }
 }
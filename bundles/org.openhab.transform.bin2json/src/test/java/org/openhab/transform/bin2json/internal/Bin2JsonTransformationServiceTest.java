@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * @author Tim Harper - Initial contribution
+ */
+public class Bin2JsonTransformationServiceTest {
+
+    private Bin2JsonTransformationService processor;
+
+    @BeforeEach
+    public void init() {
+        processor = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", "03FAFF"));
+    }
+
+    @Test
+    public void testTransformBinaryData() throws TransformationException {
+        byte[] data = new byte[] { 0x03, (byte) 0xFA, (byte) 0xFF };
+
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", data));
+        // the binary and the hexa string input share the cached parser
+        assertEquals(processor.transform("byte a; byte b; ubyte c;", "03FAFF"),
+                processor.transform("byte a; byte b; ubyte c;", data));
+    }
+
+    @Test
+    public void testParserIsReused() throws ConversionException {
+        Bin2Json parser = processor.getParser("byte a;");
+
+        assertSame(parser, processor.getParser("byte a;"));
+        assertNotSame(parser, processor.getParser("ubyte a;"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedParserIsEvicted() throws ConversionException {
+        Bin2Json first = processor.getParser("byte a0;");
+        Bin2Json second = processor.getParser("byte a1;");
+        for (int i = 2; i < Bin2JsonTransformationService.PARSER_CACHE_SIZE; i++) {
+            processor.getParser("byte a" + i + ";");
+        }
+
+        // the first parser is used again, so the second one is the eldest when the cache overflows
+        assertSame(first, processor.getParser("byte a0;"));
+        processor.getParser("byte b;");
+
+        assertSame(first, processor.getParser("byte a0;"));
+        assertNotSame(second, processor.getParser("byte a1;"));
+    }
+}
@@ -13,6 +13,9 @@
 package org.openhab.transform.exec.internal;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -21,6 +24,7 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,8 +39,14 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 @Component(property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    /** prefix of command lines which are run as long-lived workers */
+    public static final String WORKER_PREFIX = "worker:";
+    private static final int WORKER_POOL_SIZE = 2;
+    private static final long TIMEOUT_MILLIS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final Map<String, ExecWorkerPool> workerPools = new ConcurrentHashMap<>();
 
     @Activate
     public ExecTransformationService(
@@ -44,11 +54,18 @@ public class ExecTransformationService implements TransformationService {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
     }
 
+    @Deactivate
+    public void deactivate() {
+        workerPools.values().forEach(ExecWorkerPool::close);
+        workerPools.clear();
+    }
+
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. If it is prefixed by {@link #WORKER_PREFIX}, the command is started once and the input is
+     *            written to its standard input line by line instead.
      * @param source the input to transform
      */
     @Override
@@ -59,17 +76,37 @@ public class ExecTransformationService implements TransformationService {
 
         if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
+            ExecWorkerPool workerPool = workerPools.remove(commandLine);
+            if (workerPool != null) {
+                workerPool.close();
+            }
             return null;
         }
+
+        if (commandLine.startsWith(WORKER_PREFIX)) {
+            if (source.contains("\n") || source.contains("\r")) {
+                throw new TransformationException("the input of a worker must not contain line breaks");
+            }
+            logger.debug("about to transform '{}' by the worker '{}'", source, commandLine);
+            return workerPools.computeIfAbsent(commandLine, c -> new ExecWorkerPool(
+                    c.substring(WORKER_PREFIX.length()).trim(), WORKER_POOL_SIZE, TIMEOUT_MILLIS)).process(source);
+        }
         logger.debug("about to transform '{}' by the commandline '{}'", source, commandLine);
 
         long startTime = System.currentTimeMillis();
 
         String formattedCommandLine = String.format(commandLine, source);
-        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(5),
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofMillis(TIMEOUT_MILLIS),
                 formattedCommandLine.split(" "));
         logger.trace("command line execution elapsed {} ms", System.currentTimeMillis() - startTime);
 
         return result;
     }
+
+    /**
+     * @return the pools of the workers started so far
+     */
+    public Collection<ExecWorkerPool> getWorkerPools() {
+        return workerPools.values();
+    }
 }
@@ -21,8 +21,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -45,7 +46,7 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
     private static final String COMMAND_WHITELIST_FILE = "exec.whitelist";
 
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationWhitelistWatchService.class);
-    private final Set<String> commandWhitelist = new HashSet<>();
+    private volatile Set<String> commandWhitelist = Set.of();
 
     @Activate
     public ExecTransformationWhitelistWatchService() {
@@ -66,11 +67,13 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
     @Override
     protected void processWatchEvent(@Nullable WatchEvent<?> event, @Nullable Kind<?> kind, @Nullable Path path) {
         if (path != null && path.endsWith(COMMAND_WHITELIST_FILE)) {
-            commandWhitelist.clear();
-            try {
-                Files.lines(path).filter(line -> !line.trim().startsWith("#")).forEach(commandWhitelist::add);
+            // replace the whole set, so concurrent lookups never see a partially read file
+            try (Stream<String> lines = Files.lines(path)) {
+                commandWhitelist = lines.filter(line -> !line.trim().startsWith("#"))
+                        .collect(Collectors.toUnmodifiableSet());
                 logger.debug("Updated command whitelist: {}", commandWhitelist);
             } catch (IOException e) {
+                commandWhitelist = Set.of();
                 logger.warn("Cannot read whitelist file, exec transformations won't be processed: {}", e.getMessage());
             }
         }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived process which transforms one line read from its standard input into one line written to its standard
+ * output. Standard error of the process is discarded.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+class ExecWorker {
+    private static final Object END_OF_OUTPUT = new Object();
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BlockingQueue<Object> output = new LinkedBlockingQueue<>();
+    private volatile boolean alive = true;
+
+    ExecWorker(String command) throws IOException {
+        process = new ProcessBuilder(command.split(" ")).redirectError(Redirect.DISCARD).start();
+        writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        Thread reader = new Thread(this::readOutput, "OH-transform-exec-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+        logger.debug("Started worker '{}' with pid {}", command, process.pid());
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Reading output of worker with pid {} failed: {}", process.pid(), e.getMessage());
+        } finally {
+            alive = false;
+            output.add(END_OF_OUTPUT);
+        }
+    }
+
+    /**
+     * Sends one line of input to the worker and waits for its response.
+     *
+     * @param input the input, must not contain line breaks
+     * @param timeoutMillis time to wait for the response
+     * @return the response
+     * @throws IOException if the worker terminated or did not respond in time, it must not be used any more
+     */
+    String process(String input, long timeoutMillis) throws IOException {
+        if (!isAlive()) {
+            throw new IOException("worker terminated");
+        }
+        output.clear();
+        writer.write(input);
+        writer.newLine();
+        writer.flush();
+
+        Object response;
+        try {
+            response = output.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for response");
+        }
+        if (response == null) {
+            throw new IOException("no response within " + timeoutMillis + " ms");
+        } else if (response == END_OF_OUTPUT) {
+            throw new IOException("worker terminated with exit code " + exitCode());
+        }
+        return (String) response;
+    }
+
+    private String exitCode() {
+        try {
+            return process.waitFor(1, TimeUnit.SECONDS) ? String.valueOf(process.exitValue()) : "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    boolean isAlive() {
+        return alive && process.isAlive();
+    }
+
+    void destroy() {
+        alive = false;
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+        process.destroy();
+    }
+}
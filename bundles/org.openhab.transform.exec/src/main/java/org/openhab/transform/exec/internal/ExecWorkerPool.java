@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of {@link ExecWorker}s running the same command.
+ *
+ * Workers are started on demand up to the maximum pool size. A worker which crashed or did not respond in time is
+ * discarded and replaced by a new one on the next request.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorkerPool {
+    private final Logger logger = LoggerFactory.getLogger(ExecWorkerPool.class);
+
+    private final String command;
+    private final int maxWorkers;
+    private final long timeoutMillis;
+
+    private final BlockingQueue<ExecWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong startedWorkers = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * @param command the command line of the workers
+     * @param maxWorkers the maximum number of concurrently running workers
+     * @param timeoutMillis time to wait for a free worker and for its response
+     */
+    public ExecWorkerPool(String command, int maxWorkers, long timeoutMillis) {
+        this.command = command;
+        this.maxWorkers = maxWorkers;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Transforms the input by one of the workers.
+     *
+     * @param input the input, must not contain line breaks
+     * @return the response of the worker or null if the transformation failed
+     */
+    public @Nullable String process(String input) {
+        long startTime = System.nanoTime();
+        requests.incrementAndGet();
+        ExecWorker worker = null;
+        boolean success = false;
+        try {
+            worker = acquire();
+            String result = worker.process(input, timeoutMillis);
+            success = true;
+            recordLatency(System.nanoTime() - startTime);
+            return result;
+        } catch (IOException e) {
+            logger.warn("Worker '{}' failed to transform '{}': {}", command, input, e.getMessage());
+            return null;
+        } finally {
+            // a worker is given back or discarded whatever went wrong, otherwise its slot in the pool is lost
+            if (!success) {
+                failures.incrementAndGet();
+            }
+            if (worker != null) {
+                if (success) {
+                    release(worker);
+                } else {
+                    discard(worker);
+                }
+            }
+        }
+    }
+
+    private ExecWorker acquire() throws IOException {
+        while (true) {
+            ExecWorker worker = idleWorkers.poll();
+            if (worker == null) {
+                if (workerCount.incrementAndGet() <= maxWorkers) {
+                    return start();
+                }
+                workerCount.decrementAndGet();
+                try {
+                    worker = idleWorkers.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for a free worker");
+                }
+                if (worker == null) {
+                    throw new IOException("no free worker within " + timeoutMillis + " ms");
+                }
+            }
+            if (worker.isAlive()) {
+                return worker;
+            }
+            logger.debug("Replacing terminated worker '{}'", command);
+            discard(worker);
+        }
+    }
+
+    private ExecWorker start() throws IOException {
+        try {
+            ExecWorker worker = new ExecWorker(command);
+            startedWorkers.incrementAndGet();
+            return worker;
+        } catch (IOException | RuntimeException e) {
+            workerCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(ExecWorker worker) {
+        idleWorkers.offer(worker);
+        if (closed) {
+            close();
+        }
+    }
+
+    private void discard(ExecWorker worker) {
+        worker.destroy();
+        workerCount.decrementAndGet();
+    }
+
+    private void recordLatency(long latency) {
+        successes.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Stops all workers, workers in use are stopped as soon as they are released.
+     */
+    public void close() {
+        closed = true;
+        ExecWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            discard(worker);
+        }
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public int getWorkerCount() {
+        return workerCount.get();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getStartedWorkers() {
+        return startedWorkers.get();
+    }
+
+    /**
+     * @return average latency of successful requests in milliseconds
+     */
+    public double getAverageLatency() {
+        long successful = successes.get();
+        return successful > 0 ? totalLatency.get() / (successful * 1_000_000.0) : 0;
+    }
+
+    /**
+     * @return maximum latency of successful requests in milliseconds
+     */
+    public double getMaxLatency() {
+        return maxLatency.get() / 1_000_000.0;
+    }
+}
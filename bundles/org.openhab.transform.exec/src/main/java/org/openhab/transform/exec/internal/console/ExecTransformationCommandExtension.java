@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal.console;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.exec.internal.ExecTransformationService;
+import org.openhab.transform.exec.internal.ExecWorkerPool;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ExecTransformationCommandExtension} is responsible for handling console commands
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ExecTransformationCommandExtension extends AbstractConsoleCommandExtension
+        implements ConsoleCommandCompleter {
+
+    private static final String CMD_WORKERS = "workers";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_WORKERS), false);
+
+    private final TransformationService transformationService;
+
+    @Activate
+    public ExecTransformationCommandExtension(
+            final @Reference(target = "(openhab.transform=EXEC)") TransformationService transformationService) {
+        super("exectransform", "Interact with the EXEC transformation service.");
+        this.transformationService = transformationService;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length != 1 || !CMD_WORKERS.equalsIgnoreCase(args[0])
+                || !(transformationService instanceof ExecTransformationService)) {
+            printUsage(console);
+            return;
+        }
+        Collection<ExecWorkerPool> workerPools = ((ExecTransformationService) transformationService)
+                .getWorkerPools();
+        if (workerPools.isEmpty()) {
+            console.println("No workers started.");
+            return;
+        }
+        for (ExecWorkerPool workerPool : workerPools) {
+            console.println(workerPool.getCommand());
+            console.println(String.format(
+                    "  workers: %d, started: %d, requests: %d, failures: %d, latency avg: %.1f ms, max: %.1f ms",
+                    workerPool.getWorkerCount(), workerPool.getStartedWorkers(), workerPool.getRequests(),
+                    workerPool.getFailures(), workerPool.getAverageLatency(), workerPool.getMaxLatency()));
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_WORKERS, "show the workers and their latency"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
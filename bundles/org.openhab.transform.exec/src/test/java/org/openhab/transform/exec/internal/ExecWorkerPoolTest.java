@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests {@link ExecWorkerPool} with common command line tools as workers.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@DisabledOnOs(OS.WINDOWS)
+@NonNullByDefault
+public class ExecWorkerPoolTest extends JavaTest {
+
+    private @Nullable ExecWorkerPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        ExecWorkerPool pool = this.pool;
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ExecWorkerPool createPool(String command, int maxWorkers, long timeoutMillis) {
+        ExecWorkerPool pool = new ExecWorkerPool(command, maxWorkers, timeoutMillis);
+        this.pool = pool;
+        return pool;
+    }
+
+    @Test
+    public void workerIsStartedOnDemandAndReused() {
+        ExecWorkerPool pool = createPool("cat", 2, 5000);
+        assertEquals(0, pool.getWorkerCount());
+
+        assertEquals("first", pool.process("first"));
+        assertEquals("second", pool.process("second"));
+
+        assertEquals(1, pool.getStartedWorkers());
+        assertEquals(1, pool.getWorkerCount());
+        assertEquals(2, pool.getRequests());
+        assertEquals(0, pool.getFailures());
+    }
+
+    @Test
+    public void terminatedWorkerIsReplaced() {
+        // answers one line and exits
+        ExecWorkerPool pool = createPool("head -n 1", 1, 5000);
+
+        assertEquals("first", pool.process("first"));
+        waitForAssert(() -> assertEquals("second", pool.process("second")));
+
+        assertTrue(pool.getStartedWorkers() >= 2);
+        assertEquals(1, pool.getWorkerCount());
+    }
+
+    @Test
+    public void workerWithoutResponseInTimeIsDiscarded() {
+        // reads nothing and never answers
+        ExecWorkerPool pool = createPool("sleep 30", 1, 200);
+
+        assertNull(pool.process("first"));
+        assertEquals(1, pool.getFailures());
+        assertEquals(0, pool.getWorkerCount());
+
+        assertNull(pool.process("second"));
+        assertEquals(2, pool.getStartedWorkers());
+        assertEquals(0.0, pool.getAverageLatency());
+    }
+
+    @Test
+    public void requestWaitsForFreeWorkerWhenAllAreBusy() throws Exception {
+        ExecWorkerPool pool = createPool("sleep 30", 1, 500);
+
+        CompletableFuture<@Nullable String> busy = CompletableFuture.supplyAsync(() -> pool.process("first"));
+        waitForAssert(() -> assertEquals(1, pool.getWorkerCount()));
+
+        // the busy worker is discarded after its timeout, so no worker becomes free
+        assertNull(pool.process("second"));
+        assertNull(busy.get());
+        assertEquals(1, pool.getStartedWorkers());
+    }
+
+    @Test
+    public void concurrentRequestsDoNotStartMoreThanMaxWorkers() throws Exception {
+        ExecWorkerPool pool = createPool("cat", 2, 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<@Nullable String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String input = "line" + i;
+                results.add(executor.submit(() -> pool.process(input)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("line" + i, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(pool.getStartedWorkers() <= 2);
+        assertTrue(pool.getWorkerCount() <= 2);
+        assertEquals(0, pool.getFailures());
+        assertTrue(pool.getAverageLatency() > 0);
+    }
+}
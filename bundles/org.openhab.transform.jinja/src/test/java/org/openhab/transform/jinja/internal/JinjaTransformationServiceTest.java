@@ -115,4 +115,15 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplate() throws TransformationException {
+        // when rendering the same template with different values
+        String first = processor.transform("{{ value_json.data[1] }}", "{\"data\": [1, 2]}");
+        String second = processor.transform("{{ value_json.data[1] }}", "{\"data\": [3, 4]}");
+
+        // then the values of each transformation are used
+        assertEquals("2", first);
+        assertEquals("4", second);
+    }
 }
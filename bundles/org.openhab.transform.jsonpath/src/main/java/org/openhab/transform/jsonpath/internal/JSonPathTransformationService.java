@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +27,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,11 +45,22 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int PATH_CACHE_SIZE = 500;
+    // a payload is usually transformed for all its channels in a row, so only a few documents need to be kept
+    private static final int DOCUMENT_CACHE_SIZE = 8;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+    private final Map<String, JsonPath> pathCache = createLruCache(PATH_CACHE_SIZE);
+    private final Map<String, Object> documentCache = createLruCache(DOCUMENT_CACHE_SIZE);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
+     * Compiled expressions and the recently parsed documents are cached, so extracting several values from the
+     * same payload parses it only once.
+     *
      * @param function JsonPath expression
      * @param source String which contains JSON
      * @throws TransformationException If the JsonPath expression is invalid, an {@link InvalidPathException} is thrown,
@@ -60,7 +75,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = compile(jsonPathExpression).read(parse(source), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +91,35 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        JsonPath jsonPath = pathCache.get(jsonPathExpression);
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            pathCache.put(jsonPathExpression, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    private Object parse(String source) {
+        Object document = documentCache.get(source);
+        if (document == null) {
+            document = configuration.jsonProvider().parse(source);
+            documentCache.put(source, document);
+        }
+        return document;
+    }
+
+    private static <V> Map<String, V> createLruCache(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded LRU cache of compiled regular expressions used by the {@link RegExTransformationService}.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache {
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    private final Map<String, CompiledRegEx> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RegExPatternCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RegExPatternCache(int capacity) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledRegEx> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form of the given transformation function, compiling it if it is not cached yet.
+     *
+     * @param regExpression either a regular expression with one group or a substitution of the form
+     *            {@code s/regex/replacement/options}
+     * @return the compiled function
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    public CompiledRegEx get(String regExpression) {
+        CompiledRegEx compiled;
+        synchronized (cache) {
+            compiled = cache.get(regExpression);
+        }
+        if (compiled != null) {
+            hits.incrementAndGet();
+            return compiled;
+        }
+        misses.incrementAndGet();
+        compiled = compile(regExpression);
+        synchronized (cache) {
+            cache.put(regExpression, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledRegEx compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledRegEx(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new CompiledRegEx(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL));
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * A compiled transformation function, either a pattern to match or a parsed substitution.
+     */
+    public static class CompiledRegEx {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        private CompiledRegEx(Pattern pattern) {
+            this.pattern = pattern;
+            this.substitution = null;
+            this.global = false;
+        }
+
+        private CompiledRegEx(Pattern pattern, String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        public boolean isSubstitution() {
+            return substitution != null;
+        }
+
+        /**
+         * Applies the substitution to the given input.
+         *
+         * @param input the (trimmed) source
+         * @return the input with the first or, if the 'g' option was given, all matches replaced
+         */
+        public String substitute(String input) {
+            String replacement = substitution;
+            if (replacement == null) {
+                throw new IllegalStateException("not a substitution");
+            }
+            Matcher matcher = pattern.matcher(input);
+            return global ? matcher.replaceAll(replacement) : matcher.replaceFirst(replacement);
+        }
+    }
+}
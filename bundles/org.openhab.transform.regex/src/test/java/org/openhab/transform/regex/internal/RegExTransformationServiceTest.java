@@ -75,4 +75,31 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledPatternIsCached() throws TransformationException {
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "Z3");
+
+        // Asserts
+        assertEquals("varZ=3 ", transformedResponse);
+        assertEquals(1, processor.getPatternCache().getMisses());
+        assertEquals(1, processor.getPatternCache().getHits());
+    }
+
+    @Test
+    public void testPatternCacheEvictsLeastRecentlyUsed() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+        cache.get("(a)");
+        cache.get("(b)");
+        cache.get("(a)");
+        cache.get("(c)");
+        cache.get("(a)");
+        cache.get("(b)");
+
+        // Asserts
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
 }
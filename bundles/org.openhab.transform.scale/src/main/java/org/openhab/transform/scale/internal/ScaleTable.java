@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A parsed scale configuration prepared for fast lookups.
+ *
+ * Ranges are evaluated in the order of the configuration and the first matching range wins. The leading ranges
+ * which do not overlap each other are sorted by their lower bound and searched by binary search, the ranges
+ * after the first overlap (like a trailing catchall) are scanned in order.
+ *
+ * @author Tim Harper - Initial contribution
+ */
+@NonNullByDefault
+class ScaleTable {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    private static final Comparator<Entry> LOWER_BOUND_ORDER = (e1, e2) -> {
+        Range r1 = e1.range;
+        Range r2 = e2.range;
+        if (r1.min == null || r2.min == null) {
+            return r1.min == null ? (r2.min == null ? 0 : -1) : 1;
+        }
+        int cmp = r1.min.compareTo(r2.min);
+        if (cmp == 0 && r1.minInclusive != r2.minInclusive) {
+            return r1.minInclusive ? -1 : 1;
+        }
+        return cmp;
+    };
+
+    private static class Entry {
+        private final Range range;
+        private final String label;
+
+        private Entry(Range range, String label) {
+            this.range = range;
+            this.label = label;
+        }
+    }
+
+    private final Entry[] sortedEntries;
+    private final Entry[] remainingEntries;
+    private final @Nullable String nonNumeric;
+    // literal parts of the format, separated by FORMAT_VALUE or FORMAT_LABEL tokens
+    private final String[] formatParts;
+    private final boolean[] formatValueTokens;
+
+    /**
+     * @param ranges the ranges in the order of the configuration
+     * @param labels the label of each range
+     * @param nonNumeric the result for non numeric input or null if not configured
+     * @param format the format of the result
+     */
+    ScaleTable(List<Range> ranges, List<String> labels, @Nullable String nonNumeric, String format) {
+        List<Entry> sorted = new ArrayList<>();
+        List<Entry> remaining = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            Entry entry = new Entry(ranges.get(i), labels.get(i));
+            if (isEmpty(entry.range)) {
+                // can never match
+                continue;
+            }
+            if (remaining.isEmpty() && sorted.stream().noneMatch(e -> overlaps(e.range, entry.range))) {
+                sorted.add(entry);
+            } else {
+                remaining.add(entry);
+            }
+        }
+        sorted.sort(LOWER_BOUND_ORDER);
+        this.sortedEntries = sorted.toArray(new Entry[0]);
+        this.remainingEntries = remaining.toArray(new Entry[0]);
+        this.nonNumeric = nonNumeric;
+
+        List<String> parts = new ArrayList<>();
+        List<Boolean> valueTokens = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            if (valueIndex < 0 && labelIndex < 0) {
+                break;
+            }
+            boolean isValue = labelIndex < 0 || (valueIndex >= 0 && valueIndex < labelIndex);
+            int index = isValue ? valueIndex : labelIndex;
+            parts.add(format.substring(start, index));
+            valueTokens.add(isValue);
+            start = index + (isValue ? FORMAT_VALUE.length() : FORMAT_LABEL.length());
+        }
+        parts.add(format.substring(start));
+        this.formatParts = parts.toArray(new String[0]);
+        this.formatValueTokens = new boolean[valueTokens.size()];
+        for (int i = 0; i < formatValueTokens.length; i++) {
+            formatValueTokens[i] = valueTokens.get(i);
+        }
+    }
+
+    /**
+     * @return the label of the first range containing the value or null if there is none
+     */
+    public @Nullable String lookup(BigDecimal value) {
+        int low = 0;
+        int high = sortedEntries.length - 1;
+        // find the last range starting at or before the value, no other sorted range can contain it
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (startsAtOrBefore(sortedEntries[mid].range, value)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high >= 0 && sortedEntries[high].range.contains(value)) {
+            return sortedEntries[high].label;
+        }
+        for (Entry entry : remainingEntries) {
+            if (entry.range.contains(value)) {
+                return entry.label;
+            }
+        }
+        return null;
+    }
+
+    public @Nullable String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * Applies the format of the configuration.
+     *
+     * @param value the transformed value
+     * @param label the label of the matching range
+     * @return the formatted result
+     */
+    public String format(String value, String label) {
+        if (formatParts.length == 2 && formatParts[0].isEmpty() && formatParts[1].isEmpty()) {
+            // a single token, e.g. the default format
+            return formatValueTokens[0] ? value : label;
+        }
+        StringBuilder result = new StringBuilder(formatParts[0]);
+        for (int i = 0; i < formatValueTokens.length; i++) {
+            result.append(formatValueTokens[i] ? value : label).append(formatParts[i + 1]);
+        }
+        return result.toString();
+    }
+
+    private static boolean isEmpty(Range range) {
+        if (range.min == null || range.max == null) {
+            return false;
+        }
+        int cmp = range.min.compareTo(range.max);
+        return cmp > 0 || (cmp == 0 && !(range.minInclusive && range.maxInclusive));
+    }
+
+    private static boolean startsAtOrBefore(Range range, BigDecimal value) {
+        if (range.min == null) {
+            return true;
+        }
+        int cmp = range.min.compareTo(value);
+        return cmp < 0 || (cmp == 0 && range.minInclusive);
+    }
+
+    private static boolean startsBeforeEndOf(Range range, Range other) {
+        if (range.min == null || other.max == null) {
+            return true;
+        }
+        int cmp = range.min.compareTo(other.max);
+        return cmp < 0 || (cmp == 0 && range.minInclusive && other.maxInclusive);
+    }
+
+    private static boolean overlaps(Range range, Range other) {
+        return startsBeforeEndOf(range, other) && startsBeforeEndOf(other, range);
+    }
+}
@@ -187,4 +187,24 @@ public class ScaleTransformServiceTest {
         String source = "200";
         assertThrows(TransformationException.class, () -> processor.transform(existingscale, source));
     }
+
+    @Test
+    public void testTransformByScaleBounds() throws TransformationException {
+        String existingscale = "scale" + File.separator + "limits.scale";
+
+        assertEquals("low", processor.transform(existingscale, "9.99"));
+        assertEquals("middle", processor.transform(existingscale, "10"));
+        assertEquals("middle", processor.transform(existingscale, "19.99"));
+        assertEquals("high", processor.transform(existingscale, "20"));
+        assertEquals("extreme", processor.transform(existingscale, "300"));
+    }
+
+    @Test
+    public void testCatchallAfterSortedRanges() throws TransformationException {
+        String aqScaleFile = "scale" + File.separator + "netatmo_aq.scale";
+
+        assertEquals("Correcte (1099) !", processor.transform(aqScaleFile, "1099"));
+        assertEquals("inconnu ⁉ (-5) !", processor.transform(aqScaleFile, "-5"));
+        assertEquals("inconnu ⁉ (899.5) !", processor.transform(aqScaleFile, "899.5"));
+    }
 }
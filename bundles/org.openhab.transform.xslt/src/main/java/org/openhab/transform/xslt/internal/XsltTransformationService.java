@@ -15,9 +15,14 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -41,8 +46,50 @@ import org.slf4j.LoggerFactory;
 @Component(property = { "openhab.transform=XSLT" })
 public class XsltTransformationService implements TransformationService {
 
+    private static final int TEMPLATES_CACHE_SIZE = 50;
+
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    // TransformerFactory is not thread-safe, access is synchronized on the factory
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    /** compiled stylesheets by file path, the least recently used ones are evicted */
+    private final Map<String, CachedTemplates> cachedTemplates = Collections
+            .synchronizedMap(new LinkedHashMap<String, CachedTemplates>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, CachedTemplates> eldest) {
+                    return size() > TEMPLATES_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * A compiled stylesheet together with the modification time of its file. {@link Templates} are thread-safe,
+     * the {@link Transformer} instances created from them are not and are therefore kept per thread.
+     */
+    private static class CachedTemplates {
+        private final long lastModified;
+        private final Templates templates;
+        private final ThreadLocal<@Nullable Transformer> transformers = new ThreadLocal<>();
+
+        private CachedTemplates(long lastModified, Templates templates) {
+            this.lastModified = lastModified;
+            this.templates = templates;
+        }
+
+        private Transformer getTransformer() throws TransformerConfigurationException {
+            Transformer transformer = transformers.get();
+            if (transformer == null) {
+                transformer = templates.newTransformer();
+                transformers.set(transformer);
+            } else {
+                transformer.reset();
+            }
+            return transformer;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -50,6 +97,8 @@ public class XsltTransformationService implements TransformationService {
      * is stored under the 'configurations/transform' folder. To organize the
      * various transformations one should use subfolders.
      *
+     * The compiled stylesheet is cached until the modification time of the file changes.
+     *
      * @param filename the name of the file which contains the XSLT transformation rule.
      *            The name may contain subfoldernames as well
      * @param source the input to transform
@@ -60,12 +109,14 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File file;
+        long lastModified;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            file = new File(path);
+            lastModified = file.lastModified();
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,15 +124,13 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, file);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            Transformer transformer = getTemplates(file, lastModified).getTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +141,18 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private CachedTemplates getTemplates(File file, long lastModified) throws TransformerConfigurationException {
+        String key = file.getPath();
+        CachedTemplates templates = cachedTemplates.get(key);
+        if (templates == null || templates.lastModified != lastModified) {
+            Source xsl = new StreamSource(file);
+            synchronized (transformerFactory) {
+                templates = new CachedTemplates(lastModified, transformerFactory.newTemplates(xsl));
+            }
+            cachedTemplates.put(key, templates);
+            logger.debug("compiled stylesheet '{}'", file);
+        }
+        return templates;
+    }
 }